@@ -6,138 +6,184 @@
 /** Program description - To find all possible paths from source to destination*/
 
 /**Wikipedia link -> https://en.wikipedia.org/wiki/Shortest_path_problem */
-package com.thealgorithms.backtracking
+package com.thealgorithms.backtracking;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class AllPathsFromSourceToTarget {
 
     // No. of vertices in graph
     private final int v;
 
-    // To store the paths from source to destination
-    static List<List<Integer>> nm = new ArrayList<>();
-    // adjacency list
-    private ArrayList<Integer>[] adjList;
+    // The edges in the order they were added, as from[i] -> to[i]
+    private int[] from = new int[16];
+    private int[] to = new int[16];
+    private int edges;
+    // Built from the edges on first use, and dropped when an edge is added
+    private CsrGraph graph;
 
     // Constructor
     public AllPathsFromSourceToTarget(int vertices) {
 
         // initialise vertex count
         this.v = vertices;
-
-        // initialise adjacency list
-        initAdjList();
     }
 
-
     /**
-     * This function initializes an array of arrays to store adjacency lists for a graph.
-     * It creates `v` arrays, each containing an empty list, and then iterates over the
-     * `v` arrays to fill them with new lists.
+     * Adds the edge from {@code u} to {@code v}. Neighbours are visited in the order their
+     * edges were added.
+     *
+     * @param u the vertex the edge leaves
+     * @param v the vertex the edge enters
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
      */
-    private void initAdjList() {
-        adjList = new ArrayList[v];
+    public void addEdge(int u, int v) {
+        Objects.checkIndex(u, this.v);
+        Objects.checkIndex(v, this.v);
+        if (edges == from.length) {
+            from = Arrays.copyOf(from, 2 * edges);
+            to = Arrays.copyOf(to, 2 * edges);
+        }
+        from[edges] = u;
+        to[edges++] = v;
+        graph = null;
+    }
 
-        for (int i = 0; i < v; i++) {
-            adjList[i] = new ArrayList<>();
+    /**
+     * Returns the edges added so far as a {@link CsrGraph}, building it if needed.
+     */
+    private CsrGraph graph() {
+        if (graph == null) {
+            graph = CsrGraph.fromArrays(v, from, to, edges);
         }
+        return graph;
     }
 
-    // add edge from u to v
     /**
-     * This function adds the vertex `v` to the list of vertices adjacent to `u`in the
-     * graph represented by an adjacency list.
-     * 
-     * @param u In the `addEdge()` function given:
-     * 
-     * `u` is the first vertex whose neighbors list is being updated to include `v`.
-     * 
-     * @param v The `v` input parameter is the vertex being added to the edge. It represents
-     * the neighboring vertex that is being connected to the vertex `u`.
+     * Returns a lazy iterator over all simple paths from {@code s} to {@code d}, in the
+     * same order as {@link #storeAllPaths(int, int)} finds them. Paths are produced one at
+     * a time from an explicit depth-first stack over the {@link CsrGraph} of the edges, so
+     * memory use is bounded by the number of vertices however many paths there are, and
+     * the caller can stop at any point. Each path is a new list. Edges added while
+     * iterating do not affect the iterator.
+     *
+     * @param s the source vertex
+     * @param d the destination vertex
+     * @return an iterator over the paths, each from {@code s} to {@code d}
      */
-    public void addEdge(int u, int v) {
-        // Add v to u's list.
-        adjList[u].add(v);
+    public Iterator<List<Integer>> pathIterator(int s, int d) {
+        return new PathIterator(graph(), s, d);
     }
 
     /**
-     * This function stores all possible paths from a starting vertex 's' to a destination
-     * vertex 'd' by using breadth-first search. It adds the starting vertex to the list
-     * of paths and then recursively calls itself for each adjacent vertex that has not
-     * been visited before.
-     * 
-     * @param s In the provided function `storeAllPaths`, the `s` input parameter represents
-     * the source vertex from which all paths are being searched.
-     * 
-     * @param d The `d` input parameter is the destination node that we want to find all
-     * possible paths to from the given source node.
+     * Returns a lazy, sequential stream of all simple paths from {@code s} to {@code d},
+     * backed by {@link #pathIterator(int, int)}. Short-circuiting operations such as
+     * {@code limit} or {@code findFirst} stop the search early.
+     *
+     * @param s the source vertex
+     * @param d the destination vertex
+     * @return a stream of the paths, each from {@code s} to {@code d}
      */
-    public void storeAllPaths(int s, int d) {
-        boolean[] isVisited = new boolean[v];
-        ArrayList<Integer> pathList = new ArrayList<>();
-
-        // add source to path[]
-        pathList.add(s);
-        // Call recursive utility
-        storeAllPathsUtil(s, d, isVisited, pathList);
+    public Stream<List<Integer>> paths(int s, int d) {
+        Spliterator<List<Integer>> spliterator = Spliterators.spliteratorUnknownSize(pathIterator(s, d), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
     }
 
     /**
-     * This function storeAllPathsUtil(Integer u ...), given an undirected graph represented
-     * by an adjacency matrix and a depth d to explore until all paths are found starting
-     * at each vertex and returning the lists of nodes (pm) of length d ending at vertex
-     * v:
-     * 1/ It first makes all the adjacent vertices unvisited except vertex v which is not
-     * marked as visited yet
-     * 2/ Traversing the adjacent unvisited vertices recursively finding all paths of
-     * lengths upto d that visit only vertex v. If there is a path ending at vertex d
-     * found it returns a list of nodes making this recursion redundant for this vertex
-     * otherwise it waits till complete.
-     * 3/ When returning to its initial marked visited state to continue to next unvisited
-     * unexplored neighbor and repeat.
-     * Does this explain the purpose of the given code?
-     * 
-     * @param u The `u` parameter is the current vertex being considered for traversal.
-     * It represents the "unexplored" vertex that we are currently examining to find a
-     * path to the target vertex `d`.
-     * 
-     * @param d The `d` input parameter represents the destination vertex for which we
-     * need to find all possible paths from a given starting vertex `u`.
-     * 
-     * @param isVisited The `isVisited` input parameter marks whether a vertex has already
-     * been visited or not during the recursive traversal.
-     * 
-     * @param localPathList The `localPathList` input parameter is used to store the path
-     * of nodes that have been explored during the recursive call. It is a list of integers
-     * and is used to keep track of the current path from the starting node to the
-     * destination node.
+     * Depth-first search with an explicit stack. The vertex on top of the stack is
+     * expanded by advancing its cursor over its out-edges; the destination is never
+     * pushed, it only completes a path.
      */
-    private void storeAllPathsUtil(Integer u, Integer d, boolean[] isVisited, List<Integer> localPathList) {
+    private static final class PathIterator implements Iterator<List<Integer>> {
+
+        private final CsrGraph graph;
+        private final int target;
+        // The current partial path and, per depth, the next out-edge to try
+        private final int[] path;
+        private final int[] cursor;
+        private final long[] onPath;
+        private int depth;
+        private List<Integer> next;
 
-        if (u.equals(d)) {
-            nm.add(new ArrayList<>(localPathList));
-            return;
+        PathIterator(CsrGraph graph, int source, int target) {
+            final int n = graph.vertexCount();
+            this.graph = graph;
+            this.target = Objects.checkIndex(target, n);
+            this.path = new int[n];
+            this.cursor = new int[n];
+            this.onPath = new long[(n + 63) >>> 6];
+            Objects.checkIndex(source, n);
+            if (source == target) {
+                next = new ArrayList<>(List.of(source));
+            } else {
+                path[0] = source;
+                cursor[0] = graph.firstEdge(source);
+                onPath[source >>> 6] |= 1L << source;
+                depth = 1;
+                next = advance();
+            }
         }
 
-        // Mark the current node
-        isVisited[u] = true;
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
 
-        // Recursion for all the vertices adjacent to current vertex
+        @Override
+        public List<Integer> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            List<Integer> result = next;
+            next = advance();
+            return result;
+        }
 
-        for (Integer i : adjList[u]) {
-            if (!isVisited[i]) {
-                // store current node in path[]
-                localPathList.add(i);
-                storeAllPathsUtil(i, d, isVisited, localPathList);
+        private List<Integer> advance() {
+            while (depth > 0) {
+                int top = depth - 1;
+                int u = path[top];
+                if (cursor[top] == graph.endEdge(u)) {
+                    // All neighbours tried: backtrack
+                    onPath[u >>> 6] &= ~(1L << u);
+                    depth--;
+                    continue;
+                }
 
-                // remove current node in path[]
-                localPathList.remove(i);
+                int w = graph.target(cursor[top]++);
+                if ((onPath[w >>> 6] & 1L << w) != 0) {
+                    continue;
+                }
+                if (w == target) {
+                    List<Integer> found = new ArrayList<>(depth + 1);
+                    for (int i = 0; i < depth; i++) {
+                        found.add(path[i]);
+                    }
+                    found.add(w);
+                    return found;
+                }
+                path[depth] = w;
+                cursor[depth] = graph.firstEdge(w);
+                onPath[w >>> 6] |= 1L << w;
+                depth++;
             }
+            return null;
         }
+    }
 
-        // Mark the current node
-        isVisited[u] = false;
+    /**
+     * Returns all simple paths from {@code s} to {@code d} in depth-first order, found by
+     * {@link PathSearch} over the {@link CsrGraph} of the edges.
+     *
+     * @param s the source vertex
+     * @param d the destination vertex
+     * @return the paths, each from {@code s} to {@code d}
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public List<List<Integer>> storeAllPaths(int s, int d) {
+        return new PathSearch(graph()).allPaths(s, d);
     }
 
     /**
@@ -167,15 +213,74 @@ public class AllPathsFromSourceToTarget {
      * represents a single path from source to destination.
      */
     public static List<List<Integer>> allPathsFromSourceToTarget(int vertices, int[][] a, int source, int destination) {
-        // Create a sample graph
-        AllPathsFromSourceToTarget g = new AllPathsFromSourceToTarget(vertices);
-        for (int[] i : a) {
-            g.addEdge(i[0], i[1]);
-            // edges are added
-        }
-        g.storeAllPaths(source, destination);
-        // method call to store all possible paths
-        return nm;
+        // Build a primitive CSR graph; no boxed adjacency lists are needed
+        CsrGraph graph = CsrGraph.fromEdges(vertices, a);
         // returns all possible paths from source to destination
+        return new PathSearch(graph).allPaths(source, destination);
+    }
+
+    /**
+     * Returns the paths {@link #allPathsFromSourceToTarget} would return, in the same
+     * order, within the limits of {@code query}. A search that exceeds a limit, times out,
+     * is cancelled or is interrupted returns the paths found so far and the reason it
+     * stopped.
+     *
+     * @param vertices the number of vertices
+     * @param a the edges, each as {@code {from, to}}
+     * @param source the first vertex of every path
+     * @param destination the last vertex of every path
+     * @param query the limits of the search
+     * @return the paths found and why the search ended
+     */
+    public static PathQueryResult allPathsFromSourceToTarget(int vertices, int[][] a, int source, int destination, PathQuery query) {
+        return new PathSearch(CsrGraph.fromEdges(vertices, a)).query(source, destination, query);
+    }
+
+    /**
+     * Returns the paths {@link #allPathsFromSourceToTarget} would return that have at
+     * most {@code maxLength} edges, in no particular order. The paths are found by
+     * searching forward from the source and backward from the destination to about half
+     * the length each and joining the halves; see {@link BidirectionalPathSearch}.
+     *
+     * @param vertices the number of vertices
+     * @param a the edges, each as {@code {from, to}}
+     * @param source the first vertex of every path
+     * @param destination the last vertex of every path
+     * @param maxLength the maximum number of edges on a path
+     * @return the simple paths from {@code source} to {@code destination} of at most
+     * {@code maxLength} edges
+     * @throws IllegalArgumentException if {@code maxLength} is negative
+     */
+    public static List<List<Integer>> allPathsBidirectional(int vertices, int[][] a, int source, int destination, int maxLength) throws IllegalArgumentException {
+        return new ArrayList<>(new BidirectionalPathSearch(CsrGraph.fromEdges(vertices, a)).collectPaths(source, destination, maxLength).asList());
+    }
+
+    /**
+     * Returns the same paths as {@link #allPathsFromSourceToTarget}, in the same order,
+     * stored compactly with shared prefixes.
+     *
+     * @param vertices the number of vertices
+     * @param a the edges, each as {@code {from, to}}
+     * @param source the first vertex of every path
+     * @param destination the last vertex of every path
+     * @return the simple paths from {@code source} to {@code destination}
+     */
+    public static CompactPathSet compactPaths(int vertices, int[][] a, int source, int destination) {
+        return new PathSearch(CsrGraph.fromEdges(vertices, a)).collectPaths(source, destination);
+    }
+
+    /**
+     * Returns the number of paths {@link #allPathsFromSourceToTarget} would return,
+     * without building them. Acyclic graphs are counted in linear time; see
+     * {@link PathSearch#countPaths(int, int)}.
+     *
+     * @param vertices the number of vertices
+     * @param a the edges, each as {@code {from, to}}
+     * @param source the first vertex of every path
+     * @param destination the last vertex of every path
+     * @return the number of simple paths from {@code source} to {@code destination}
+     */
+    public static long countPaths(int vertices, int[][] a, int source, int destination) {
+        return new PathSearch(CsrGraph.fromEdges(vertices, a)).countPaths(source, destination);
     }
 }
@@ -0,0 +1,259 @@
+package com.thealgorithms.backtracking;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Enumerates the simple paths of at most a given length between two vertices of a
+ * {@link CsrGraph} by meeting in the middle. For a length limit of {@code L} edges, a
+ * forward search from the source collects every simple prefix of
+ * {@code f = ceil(L / 2)} edges, and a backward search from the target over the reversed
+ * graph walks every simple suffix of at most {@code L - f} edges. A prefix and a suffix
+ * that end at the same meeting vertex and share no other vertex join into one path;
+ * paths of at most {@code f} edges are found by the forward search directly.
+ *
+ * <p>Both searches only enter vertices from which the other end is within the remaining
+ * length, using breadth-first distances computed once per search. Neither search goes
+ * deeper than about half the limit, so on deep graphs they visit far fewer nodes than a
+ * forward search to the full length, which spends most of its time in prefixes that
+ * cannot reach the target in time. The price is the memory for the prefixes, which are
+ * kept in flat {@code int} arrays.
+ *
+ * <p>The paths are the ones {@link PathSearch#query} returns with
+ * {@link PathQuery#withMaxLength}, each exactly once, but in a different order.
+ */
+public class BidirectionalPathSearch {
+
+    private final CsrGraph graph;
+    // Built on first use
+    private volatile CsrGraph reverse;
+
+    public BidirectionalPathSearch(CsrGraph graph) {
+        this.graph = Objects.requireNonNull(graph, "graph");
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Passes every simple path from {@code source} to {@code target} with at most
+     * {@code maxLength} edges to {@code visitor}, until the visitor returns {@code false}.
+     *
+     * @return the number of paths passed to the visitor
+     * @throws IllegalArgumentException if {@code maxLength} is negative
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public long forEachPath(int source, int target, int maxLength, PathSearch.Visitor visitor) throws IllegalArgumentException {
+        final int n = graph.vertexCount();
+        Objects.checkIndex(source, n);
+        Objects.checkIndex(target, n);
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must not be negative");
+        }
+        // A simple path has fewer edges than the graph has vertices
+        maxLength = Math.min(maxLength, n - 1);
+
+        final int[] path = new int[maxLength + 1];
+        path[0] = source;
+        if (source == target) {
+            visitor.visit(path, 1);
+            return 1;
+        }
+
+        CsrGraph reversed = reverse;
+        if (reversed == null) {
+            reversed = graph.reverse();
+            reverse = reversed;
+        }
+        final int[] toTarget = distances(reversed, target, maxLength);
+        if (toTarget[source] > maxLength) {
+            return 0;
+        }
+        final int forwardDepth = (maxLength + 1) / 2;
+        final int backwardDepth = maxLength - forwardDepth;
+
+        // Forward: report short paths, and keep the prefixes of forwardDepth edges in
+        // per-vertex lists linked through next
+        final Prefixes prefixes = new Prefixes(n, forwardDepth + 1);
+        final long[] onPath = new long[(n + 63) >>> 6];
+        final int[] cursor = new int[path.length];
+        onPath[source >>> 6] |= 1L << source;
+        cursor[0] = graph.firstEdge(source);
+        long count = 0;
+        int depth = 1;
+        while (depth > 0) {
+            int top = depth - 1;
+            int u = path[top];
+            if (cursor[top] == graph.endEdge(u)) {
+                onPath[u >>> 6] &= ~(1L << u);
+                depth--;
+                continue;
+            }
+            int w = graph.target(cursor[top]++);
+            if ((onPath[w >>> 6] & 1L << w) != 0) {
+                continue;
+            }
+            path[depth] = w;
+            if (w == target) {
+                count++;
+                if (!visitor.visit(path, depth + 1)) {
+                    return count;
+                }
+                continue;
+            }
+            // A path through w has depth edges up to w and toTarget[w] after it
+            if (toTarget[w] > maxLength - depth) {
+                continue;
+            }
+            if (depth == forwardDepth) {
+                prefixes.add(path);
+                continue;
+            }
+            onPath[w >>> 6] |= 1L << w;
+            cursor[depth] = graph.firstEdge(w);
+            depth++;
+        }
+        if (prefixes.size == 0) {
+            return count;
+        }
+
+        // Backward: walk suffixes from the target, joining them with the prefixes of each
+        // meeting vertex. The source cannot be on a suffix, as it starts every prefix.
+        final int[] fromSource = distances(graph, source, maxLength);
+        final int[] suffix = new int[backwardDepth + 1];
+        final int[] joined = new int[maxLength + 1];
+        Arrays.fill(onPath, 0);
+        suffix[0] = target;
+        onPath[target >>> 6] |= 1L << target;
+        cursor[0] = reversed.firstEdge(target);
+        depth = 1;
+        while (depth > 0) {
+            int top = depth - 1;
+            int u = suffix[top];
+            if (cursor[top] == reversed.endEdge(u)) {
+                onPath[u >>> 6] &= ~(1L << u);
+                depth--;
+                continue;
+            }
+            int w = reversed.target(cursor[top]++);
+            if (w == source || (onPath[w >>> 6] & 1L << w) != 0 || fromSource[w] > maxLength - depth) {
+                continue;
+            }
+
+            for (int p = prefixes.head[w]; p >= 0; p = prefixes.next[p]) {
+                if (!prefixes.avoids(p, onPath)) {
+                    continue;
+                }
+                int length = prefixes.copy(p, joined);
+                for (int i = top; i >= 0; i--) {
+                    joined[length++] = suffix[i];
+                }
+                count++;
+                if (!visitor.visit(joined, length)) {
+                    return count;
+                }
+            }
+
+            if (depth < backwardDepth) {
+                suffix[depth] = w;
+                onPath[w >>> 6] |= 1L << w;
+                cursor[depth] = reversed.firstEdge(w);
+                depth++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns every simple path from {@code source} to {@code target} with at most
+     * {@code maxLength} edges in a {@link CompactPathSet}.
+     *
+     * @throws IllegalArgumentException if {@code maxLength} is negative
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public CompactPathSet collectPaths(int source, int target, int maxLength) throws IllegalArgumentException {
+        CompactPathSet.Builder builder = new CompactPathSet.Builder();
+        forEachPath(source, target, maxLength, builder);
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from {@code start} to every vertex,
+     * or {@link Integer#MAX_VALUE} if it is more than {@code limit}.
+     */
+    private static int[] distances(CsrGraph graph, int start, int limit) {
+        final int n = graph.vertexCount();
+        int[] distance = new int[n];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        int[] queue = new int[n];
+        int tail = 0;
+        queue[tail++] = start;
+        distance[start] = 0;
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            if (distance[u] == limit) {
+                break;
+            }
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int w = graph.target(e);
+                if (distance[w] == Integer.MAX_VALUE) {
+                    distance[w] = distance[u] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Prefixes of one length, stored back to back and listed per last vertex.
+     */
+    private static final class Prefixes {
+
+        final int length;
+        // The first prefix ending at each vertex, and the next prefix with the same end
+        final int[] head;
+        int[] next = new int[16];
+        int[] vertices;
+        int size;
+
+        Prefixes(int n, int length) {
+            this.length = length;
+            this.head = new int[n];
+            Arrays.fill(head, -1);
+            this.vertices = new int[16 * length];
+        }
+
+        void add(int[] path) {
+            if (size == next.length) {
+                next = Arrays.copyOf(next, 2 * size);
+                vertices = Arrays.copyOf(vertices, 2 * size * length);
+            }
+            System.arraycopy(path, 0, vertices, size * length, length);
+            int end = path[length - 1];
+            next[size] = head[end];
+            head[end] = size++;
+        }
+
+        /**
+         * Returns whether prefix {@code p} has no vertex in {@code set}, apart from its
+         * first and last, which the caller has already ruled out.
+         */
+        boolean avoids(int p, long[] set) {
+            int base = p * length;
+            for (int i = base + 1; i < base + length - 1; i++) {
+                int v = vertices[i];
+                if ((set[v >>> 6] & 1L << v) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int copy(int p, int[] dst) {
+            System.arraycopy(vertices, p * length, dst, 0, length);
+            return length;
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An IIR filter evaluated as a chain of second-order sections ("biquads"), each one
+ * in transposed direct form II. Splitting a high-order filter into sections keeps every
+ * recursion at order two, which is far less sensitive to coefficient rounding than the
+ * single direct-form recursion of {@link IIRFilter}, and keeps the per-section state in
+ * two locals while a block is processed.
+ *
+ * <p>Every section is normalised so that {@code a0 == 1} and computes
+ *
+ * <pre>
+ *   y  = b0 * x + s1
+ *   s1 = b1 * x - a1 * y + s2
+ *   s2 = b2 * x - a2 * y
+ * </pre>
+ */
+public class BiquadCascade {
+
+    // Coefficients per section, normalised by a0: b0, b1, b2, a1, a2
+    private static final int STRIDE = 5;
+
+    private static final int MAX_ITERATIONS = 60;
+    private static final double IMAG_TOLERANCE = 1e-9;
+
+    private final int sections;
+    private final double[] coeffs;
+    private final double[] state;
+
+    /**
+     * Creates a cascade from explicit sections. Each section is given as
+     * {@code {b0, b1, b2, a0, a1, a2}}; a first-order section simply has
+     * {@code b2 == a2 == 0}.
+     *
+     * @param sections the sections, applied in the given order
+     * @throws IllegalArgumentException if there are no sections, a section does not have
+     * six coefficients or its {@code a0} is zero
+     */
+    public BiquadCascade(double[][] sections) throws IllegalArgumentException {
+        if (sections.length < 1) {
+            throw new IllegalArgumentException("at least one section is required");
+        }
+
+        this.sections = sections.length;
+        coeffs = new double[STRIDE * sections.length];
+        state = new double[2 * sections.length];
+
+        for (int s = 0; s < sections.length; s++) {
+            double[] section = sections[s];
+            if (section.length != 6) {
+                throw new IllegalArgumentException("section " + s + " must be of size 6, got " + section.length);
+            }
+            if (section[3] == 0.0) {
+                throw new IllegalArgumentException("a0 of section " + s + " must not be zero");
+            }
+            double a0 = section[3];
+            int c = STRIDE * s;
+            coeffs[c] = section[0] / a0;
+            coeffs[c + 1] = section[1] / a0;
+            coeffs[c + 2] = section[2] / a0;
+            coeffs[c + 3] = section[4] / a0;
+            coeffs[c + 4] = section[5] / a0;
+        }
+    }
+
+    /**
+     * Converts direct-form coefficients, in the layout used by {@link IIRFilter}, into a
+     * cascade. The numerator and denominator polynomials are factored into real first
+     * and second-order factors; each pair of complex conjugate poles is matched with the
+     * nearest pair of zeros, and sections are ordered so that poles closest to the unit
+     * circle come last. The overall gain is applied in the first section.
+     *
+     * <p>Factoring is itself sensitive to rounding when roots are repeated (a Butterworth
+     * lowpass, for example, has all of its zeros at {@code z = -1}). The resulting cascade
+     * still reproduces the transfer function closely, but designs that are available as
+     * sections should be passed to {@link #BiquadCascade(double[][])} directly.
+     *
+     * @param aCoeffs the denominator coefficients {@code a0 .. aN}
+     * @param bCoeffs the numerator coefficients {@code b0 .. bN}
+     * @return a cascade with {@code ceil(N / 2)} sections
+     * @throws IllegalArgumentException if the arrays differ in length or {@code a0} or
+     * {@code b0} is zero
+     */
+    public static BiquadCascade fromDirectForm(double[] aCoeffs, double[] bCoeffs) throws IllegalArgumentException {
+        return new BiquadCascade(toSections(aCoeffs, bCoeffs));
+    }
+
+    /**
+     * Factors direct-form coefficients into sections as described for
+     * {@link #fromDirectForm(double[], double[])}, each as {@code {b0, b1, b2, a0, a1, a2}}.
+     */
+    static double[][] toSections(double[] aCoeffs, double[] bCoeffs) throws IllegalArgumentException {
+        if (aCoeffs.length != bCoeffs.length) {
+            throw new IllegalArgumentException("aCoeffs and bCoeffs must be of the same size, got " + aCoeffs.length + " and " + bCoeffs.length);
+        }
+        if (aCoeffs.length < 2) {
+            throw new IllegalArgumentException("at least two coefficients are required, got " + aCoeffs.length);
+        }
+        if (aCoeffs[0] == 0.0) {
+            throw new IllegalArgumentException("aCoeffs[0] must not be zero");
+        }
+        if (bCoeffs[0] == 0.0) {
+            throw new IllegalArgumentException("bCoeffs[0] must not be zero");
+        }
+
+        double[][] poles = quadraticFactors(roots(aCoeffs));
+        double[][] zeros = quadraticFactors(roots(bCoeffs));
+
+        // Poles closest to the unit circle take their nearest zeros first
+        Integer[] byRadius = new Integer[poles.length];
+        for (int i = 0; i < byRadius.length; i++) {
+            byRadius[i] = i;
+        }
+        Arrays.sort(byRadius, (i, j) -> Double.compare(poles[j][2], poles[i][2]));
+
+        double[][] result = new double[poles.length][];
+        boolean[] used = new boolean[zeros.length];
+        for (int k = 0; k < byRadius.length; k++) {
+            double[] pole = poles[byRadius[k]];
+            int best = -1;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (int z = 0; z < zeros.length; z++) {
+                double distance = Math.hypot(zeros[z][3] - pole[3], zeros[z][4] - pole[4]);
+                if (!used[z] && distance < bestDistance) {
+                    best = z;
+                    bestDistance = distance;
+                }
+            }
+            used[best] = true;
+            double[] zero = zeros[best];
+            // Reverse so the section with the largest pole radius is applied last
+            result[byRadius.length - 1 - k] = new double[] {1.0, zero[0], zero[1], 1.0, pole[0], pole[1]};
+        }
+
+        double gain = bCoeffs[0] / aCoeffs[0];
+        result[0][0] *= gain;
+        result[0][1] *= gain;
+        result[0][2] *= gain;
+
+        return result;
+    }
+
+    /**
+     * Returns the number of second-order sections.
+     */
+    public int sectionCount() {
+        return sections;
+    }
+
+    /**
+     * Clears the state of every section.
+     */
+    public void reset() {
+        Arrays.fill(state, 0.0);
+    }
+
+    /**
+     * Filters a single sample through all sections.
+     *
+     * @param sample the input sample
+     * @return the filtered sample
+     */
+    public double process(double sample) {
+        double x = sample;
+        for (int s = 0; s < sections; s++) {
+            int c = STRIDE * s;
+            int z = 2 * s;
+            double y = coeffs[c] * x + state[z];
+            state[z] = coeffs[c + 1] * x - coeffs[c + 3] * y + state[z + 1];
+            state[z + 1] = coeffs[c + 2] * x - coeffs[c + 4] * y;
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Filters {@code len} samples of {@code in} starting at {@code inOff} and writes the
+     * results to {@code out} starting at {@code outOff}. The block is run through one
+     * section at a time, so the coefficients and state of the active section stay in
+     * registers for the whole block. The output is identical to calling
+     * {@link #process(double)} once per sample. No memory is allocated.
+     *
+     * @param in the input samples
+     * @param inOff index of the first input sample
+     * @param out the array receiving the filtered samples; may be {@code in} only if
+     * {@code outOff == inOff}
+     * @param outOff index of the first output sample
+     * @param len number of samples to filter
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(double[] in, int inOff, double[] out, int outOff, int len) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+
+        double[] src = in;
+        int srcOff = inOff;
+        for (int s = 0; s < sections; s++) {
+            int c = STRIDE * s;
+            final double b0 = coeffs[c];
+            final double b1 = coeffs[c + 1];
+            final double b2 = coeffs[c + 2];
+            final double a1 = coeffs[c + 3];
+            final double a2 = coeffs[c + 4];
+            double s1 = state[2 * s];
+            double s2 = state[2 * s + 1];
+
+            for (int k = 0; k < len; k++) {
+                double x = src[srcOff + k];
+                double y = b0 * x + s1;
+                s1 = b1 * x - a1 * y + s2;
+                s2 = b2 * x - a2 * y;
+                out[outOff + k] = y;
+            }
+
+            state[2 * s] = s1;
+            state[2 * s + 1] = s2;
+
+            // Later sections work on the output of the previous one in place
+            src = out;
+            srcOff = outOff;
+        }
+    }
+
+    /**
+     * Filters {@code len} samples of {@code buffer} in place, starting at {@code off}.
+     *
+     * @param buffer the samples to filter, overwritten with the filtered samples
+     * @param off index of the first sample
+     * @param len number of samples to filter
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public void process(double[] buffer, int off, int len) {
+        process(buffer, off, buffer, off, len);
+    }
+
+    /**
+     * Finds the roots of {@code c[0] z^N + c[1] z^(N-1) + ... + c[N]} as the eigenvalues
+     * of its balanced companion matrix, using the shifted QR iteration for Hessenberg
+     * matrices. Working in real arithmetic, complex roots come out as exact conjugate
+     * pairs, which keeps the quadratic factors real even for clustered roots.
+     *
+     * @return the roots as {@code {re[], im[]}}
+     * @throws IllegalArgumentException if the iteration does not converge
+     */
+    private static double[][] roots(double[] c) throws IllegalArgumentException {
+        int n = c.length - 1;
+
+        // 1-based companion matrix, as in the classic formulation of the algorithm
+        double[][] h = new double[n + 1][n + 1];
+        for (int k = 1; k <= n; k++) {
+            h[1][k] = -c[k] / c[0];
+        }
+        for (int j = 2; j <= n; j++) {
+            h[j][j - 1] = 1.0;
+        }
+        balance(h, n);
+
+        double[] re = new double[n + 1];
+        double[] im = new double[n + 1];
+        hessenbergEigenvalues(h, n, re, im);
+
+        return new double[][] {Arrays.copyOfRange(re, 1, n + 1), Arrays.copyOfRange(im, 1, n + 1)};
+    }
+
+    /**
+     * Scales rows and columns of the 1-based matrix {@code h} by powers of two so that
+     * their norms are comparable, which improves the accuracy of the eigenvalues.
+     */
+    private static void balance(double[][] h, int n) {
+        final double radix = 2.0;
+        final double radixSquared = radix * radix;
+        boolean done = false;
+        while (!done) {
+            done = true;
+            for (int i = 1; i <= n; i++) {
+                double r = 0.0;
+                double col = 0.0;
+                for (int j = 1; j <= n; j++) {
+                    if (j != i) {
+                        col += Math.abs(h[j][i]);
+                        r += Math.abs(h[i][j]);
+                    }
+                }
+                if (col != 0.0 && r != 0.0) {
+                    double g = r / radix;
+                    double f = 1.0;
+                    double s = col + r;
+                    while (col < g) {
+                        f *= radix;
+                        col *= radixSquared;
+                    }
+                    g = r * radix;
+                    while (col > g) {
+                        f /= radix;
+                        col /= radixSquared;
+                    }
+                    if ((col + r) / f < 0.95 * s) {
+                        done = false;
+                        g = 1.0 / f;
+                        for (int j = 1; j <= n; j++) {
+                            h[i][j] *= g;
+                        }
+                        for (int j = 1; j <= n; j++) {
+                            h[j][i] *= f;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes all eigenvalues of the 1-based upper Hessenberg matrix {@code h} with the
+     * Francis double-shift QR iteration. {@code h} is destroyed; the eigenvalues are
+     * written to {@code re[1..n]} and {@code im[1..n]}.
+     */
+    private static void hessenbergEigenvalues(double[][] h, int n, double[] re, double[] im) throws IllegalArgumentException {
+        double norm = 0.0;
+        for (int i = 1; i <= n; i++) {
+            for (int j = Math.max(i - 1, 1); j <= n; j++) {
+                norm += Math.abs(h[i][j]);
+            }
+        }
+
+        int nn = n;
+        double t = 0.0;
+        double p = 0.0;
+        double q = 0.0;
+        double r = 0.0;
+        double s;
+        double w;
+        double x;
+        double y;
+        double z;
+        while (nn >= 1) {
+            int iterations = 0;
+            int l;
+            do {
+                // Look for a single small subdiagonal element
+                for (l = nn; l >= 2; l--) {
+                    s = Math.abs(h[l - 1][l - 1]) + Math.abs(h[l][l]);
+                    if (s == 0.0) {
+                        s = norm;
+                    }
+                    if (Math.abs(h[l][l - 1]) + s == s) {
+                        h[l][l - 1] = 0.0;
+                        break;
+                    }
+                }
+                x = h[nn][nn];
+                if (l == nn) {
+                    // One root found
+                    re[nn] = x + t;
+                    im[nn] = 0.0;
+                    nn--;
+                } else {
+                    y = h[nn - 1][nn - 1];
+                    w = h[nn][nn - 1] * h[nn - 1][nn];
+                    if (l == nn - 1) {
+                        // Two roots found
+                        p = 0.5 * (y - x);
+                        q = p * p + w;
+                        z = Math.sqrt(Math.abs(q));
+                        x += t;
+                        if (q >= 0.0) {
+                            z = p + Math.copySign(z, p);
+                            re[nn - 1] = x + z;
+                            re[nn] = z != 0.0 ? x - w / z : x + z;
+                            im[nn - 1] = 0.0;
+                            im[nn] = 0.0;
+                        } else {
+                            re[nn - 1] = x + p;
+                            re[nn] = x + p;
+                            im[nn - 1] = -z;
+                            im[nn] = z;
+                        }
+                        nn -= 2;
+                    } else {
+                        if (iterations == MAX_ITERATIONS) {
+                            throw new IllegalArgumentException("coefficients could not be factored into sections");
+                        }
+                        if (iterations == 10 || iterations == 20) {
+                            // Exceptional shift
+                            t += x;
+                            for (int i = 1; i <= nn; i++) {
+                                h[i][i] -= x;
+                            }
+                            s = Math.abs(h[nn][nn - 1]) + Math.abs(h[nn - 1][nn - 2]);
+                            x = 0.75 * s;
+                            y = x;
+                            w = -0.4375 * s * s;
+                        }
+                        iterations++;
+
+                        // Look for two consecutive small subdiagonal elements
+                        int m;
+                        for (m = nn - 2; m >= l; m--) {
+                            z = h[m][m];
+                            r = x - z;
+                            s = y - z;
+                            p = (r * s - w) / h[m + 1][m] + h[m][m + 1];
+                            q = h[m + 1][m + 1] - z - r - s;
+                            r = h[m + 2][m + 1];
+                            s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                            p /= s;
+                            q /= s;
+                            r /= s;
+                            if (m == l) {
+                                break;
+                            }
+                            double u = Math.abs(h[m][m - 1]) * (Math.abs(q) + Math.abs(r));
+                            double v = Math.abs(p) * (Math.abs(h[m - 1][m - 1]) + Math.abs(z) + Math.abs(h[m + 1][m + 1]));
+                            if (u + v == v) {
+                                break;
+                            }
+                        }
+                        for (int i = m + 2; i <= nn; i++) {
+                            h[i][i - 2] = 0.0;
+                            if (i != m + 2) {
+                                h[i][i - 3] = 0.0;
+                            }
+                        }
+
+                        // Double QR step on rows l..nn and columns m..nn
+                        for (int k = m; k <= nn - 1; k++) {
+                            if (k != m) {
+                                p = h[k][k - 1];
+                                q = h[k + 1][k - 1];
+                                r = 0.0;
+                                if (k != nn - 1) {
+                                    r = h[k + 2][k - 1];
+                                }
+                                x = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                                if (x != 0.0) {
+                                    p /= x;
+                                    q /= x;
+                                    r /= x;
+                                }
+                            }
+                            s = Math.copySign(Math.sqrt(p * p + q * q + r * r), p);
+                            if (s != 0.0) {
+                                if (k == m) {
+                                    if (l != m) {
+                                        h[k][k - 1] = -h[k][k - 1];
+                                    }
+                                } else {
+                                    h[k][k - 1] = -s * x;
+                                }
+                                p += s;
+                                x = p / s;
+                                y = q / s;
+                                z = r / s;
+                                q /= p;
+                                r /= p;
+                                for (int j = k; j <= nn; j++) {
+                                    p = h[k][j] + q * h[k + 1][j];
+                                    if (k != nn - 1) {
+                                        p += r * h[k + 2][j];
+                                        h[k + 2][j] -= p * z;
+                                    }
+                                    h[k + 1][j] -= p * y;
+                                    h[k][j] -= p * x;
+                                }
+                                int last = Math.min(nn, k + 3);
+                                for (int i = l; i <= last; i++) {
+                                    p = x * h[i][k] + y * h[i][k + 1];
+                                    if (k != nn - 1) {
+                                        p += z * h[i][k + 2];
+                                        h[i][k + 2] -= p * r;
+                                    }
+                                    h[i][k + 1] -= p * q;
+                                    h[i][k] -= p;
+                                }
+                            }
+                        }
+                    }
+                }
+            } while (l < nn - 1);
+        }
+    }
+
+    /**
+     * Groups roots into real factors {@code z^2 + c1 z + c2} (or {@code z + c1} for a
+     * leftover real root). Each factor is returned as
+     * {@code {c1, c2, radius, re, im}}, where {@code radius} is the largest root modulus
+     * and {@code re, im} is a representative root used for pole-zero matching.
+     */
+    private static double[][] quadraticFactors(double[][] roots) {
+        double[] re = roots[0];
+        double[] im = roots[1];
+        int n = re.length;
+        boolean[] used = new boolean[n];
+        double[][] factors = new double[(n + 1) / 2][];
+        int f = 0;
+
+        // Complex conjugate pairs
+        for (int i = 0; i < n; i++) {
+            if (used[i] || im[i] <= IMAG_TOLERANCE * Math.max(1.0, Math.hypot(re[i], im[i]))) {
+                continue;
+            }
+            int partner = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < n; j++) {
+                if (!used[j] && j != i && im[j] < 0.0) {
+                    double distance = Math.hypot(re[i] - re[j], im[i] + im[j]);
+                    if (distance < best) {
+                        best = distance;
+                        partner = j;
+                    }
+                }
+            }
+            if (partner < 0) {
+                continue;
+            }
+            used[i] = true;
+            used[partner] = true;
+            double r = 0.5 * (re[i] + re[partner]);
+            double q = 0.5 * (im[i] - im[partner]);
+            factors[f++] = new double[] {-2.0 * r, r * r + q * q, Math.hypot(r, q), r, q};
+        }
+
+        // Remaining roots are treated as real and paired in sorted order
+        int remaining = 0;
+        double[] reals = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (!used[i]) {
+                reals[remaining++] = re[i];
+            }
+        }
+        Arrays.sort(reals, 0, remaining);
+        for (int i = 0; i + 1 < remaining; i += 2) {
+            double r1 = reals[i];
+            double r2 = reals[i + 1];
+            factors[f++] = new double[] {-(r1 + r2), r1 * r2, Math.max(Math.abs(r1), Math.abs(r2)), 0.5 * (r1 + r2), 0.0};
+        }
+        if (remaining % 2 == 1) {
+            double r = reals[remaining - 1];
+            factors[f++] = new double[] {-r, 0.0, Math.abs(r), r, 0.0};
+        }
+
+        return factors;
+    }
+}
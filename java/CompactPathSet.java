@@ -0,0 +1,224 @@
+package com.thealgorithms.backtracking;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable list of paths stored as a parent-pointer trie in primitive arrays. Every
+ * trie node holds one vertex and the index of its parent node, and every path is the
+ * node of its last vertex. Paths that start the same way share the nodes of their common
+ * prefix, so a large enumeration costs a few {@code int}s per distinct prefix step
+ * instead of a boxed list per path.
+ *
+ * <p>Paths are built with a {@link Builder}, which is a {@link PathSearch.Visitor}.
+ * Prefixes are shared with the previous path added, which finds every shared prefix for
+ * paths added in depth-first order, as the searches in this package produce them.
+ */
+public final class CompactPathSet implements Iterable<int[]> {
+
+    // Per trie node: its vertex and its parent node, or -1 for a root
+    private final int[] vertex;
+    private final int[] parent;
+    private final int nodes;
+    // Per path: its last node and its number of vertices
+    private final int[] leaf;
+    private final int[] length;
+    private final int size;
+
+    private CompactPathSet(int[] vertex, int[] parent, int nodes, int[] leaf, int[] length, int size) {
+        this.vertex = vertex;
+        this.parent = parent;
+        this.nodes = nodes;
+        this.leaf = leaf;
+        this.length = length;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of paths.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of trie nodes, which is the number of stored vertices.
+     */
+    public int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of vertices on path {@code index}.
+     *
+     * @throws IndexOutOfBoundsException if there is no such path
+     */
+    public int length(int index) {
+        return length[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns path {@code index} as a new array.
+     *
+     * @throws IndexOutOfBoundsException if there is no such path
+     */
+    public int[] get(int index) {
+        int[] path = new int[length(index)];
+        copy(index, path, 0);
+        return path;
+    }
+
+    /**
+     * Copies path {@code index} into {@code dst} starting at {@code off}, without
+     * allocating.
+     *
+     * @return the number of vertices copied
+     * @throws IndexOutOfBoundsException if there is no such path or it does not fit
+     */
+    public int copy(int index, int[] dst, int off) {
+        int len = length(index);
+        Objects.checkFromIndexSize(off, len, dst.length);
+        int node = leaf[index];
+        for (int i = off + len - 1; i >= off; i--) {
+            dst[i] = vertex[node];
+            node = parent[node];
+        }
+        return len;
+    }
+
+    /**
+     * Returns an iterator over the paths, each as a new array.
+     */
+    @Override
+    public Iterator<int[]> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public int[] next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    /**
+     * Returns a read-only view of the paths in the format of
+     * {@link AllPathsFromSourceToTarget#allPathsFromSourceToTarget}. Each path is
+     * materialised when it is accessed.
+     */
+    public List<List<Integer>> asList() {
+        return new AbstractList<>() {
+            @Override
+            public List<Integer> get(int index) {
+                int[] path = CompactPathSet.this.get(index);
+                Integer[] boxed = new Integer[path.length];
+                for (int i = 0; i < path.length; i++) {
+                    boxed[i] = path[i];
+                }
+                return List.of(boxed);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Collects paths into a {@link CompactPathSet}. A builder is not thread-safe, so it
+     * must only be used with sequential searches.
+     */
+    public static final class Builder implements PathSearch.Visitor {
+
+        private int[] vertex = new int[16];
+        private int[] parent = new int[16];
+        private int nodes;
+        private int[] leaf = new int[16];
+        private int[] length = new int[16];
+        private int size;
+
+        // The previous path and the node of each of its vertices
+        private int[] previous = new int[0];
+        private int[] previousNodes = new int[0];
+        private int previousLength;
+
+        /**
+         * Returns the number of paths added so far.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Adds a copy of {@code path[0 .. length - 1]}.
+         *
+         * @throws IllegalArgumentException if {@code length} is less than one
+         * @throws IndexOutOfBoundsException if {@code length} exceeds the array
+         */
+        public Builder add(int[] path, int length) throws IllegalArgumentException {
+            if (length < 1) {
+                throw new IllegalArgumentException("length must be greater than zero");
+            }
+            Objects.checkFromIndexSize(0, length, path.length);
+            if (previous.length < length) {
+                previous = Arrays.copyOf(previous, Math.max(length, 2 * previous.length));
+                previousNodes = Arrays.copyOf(previousNodes, previous.length);
+            }
+
+            // Reuse the nodes of the prefix shared with the previous path
+            int shared = 0;
+            int limit = Math.min(length, previousLength);
+            while (shared < limit && path[shared] == previous[shared]) {
+                shared++;
+            }
+            for (int i = shared; i < length; i++) {
+                if (nodes == vertex.length) {
+                    vertex = Arrays.copyOf(vertex, 2 * nodes);
+                    parent = Arrays.copyOf(parent, 2 * nodes);
+                }
+                vertex[nodes] = path[i];
+                parent[nodes] = i == 0 ? -1 : previousNodes[i - 1];
+                previous[i] = path[i];
+                previousNodes[i] = nodes++;
+            }
+            previousLength = length;
+
+            if (size == leaf.length) {
+                leaf = Arrays.copyOf(leaf, 2 * size);
+                this.length = Arrays.copyOf(this.length, 2 * size);
+            }
+            leaf[size] = previousNodes[length - 1];
+            this.length[size++] = length;
+            return this;
+        }
+
+        /**
+         * Adds the path and continues the search.
+         */
+        @Override
+        public boolean visit(int[] path, int length) {
+            add(path, length);
+            return true;
+        }
+
+        /**
+         * Returns the paths added so far, trimmed to size.
+         */
+        public CompactPathSet build() {
+            return new CompactPathSet(Arrays.copyOf(vertex, nodes), Arrays.copyOf(parent, nodes), nodes, Arrays.copyOf(leaf, size), Arrays.copyOf(length, size), size);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.thealgorithms.backtracking;
+
+import java.util.Arrays;
+
+/**
+ * An immutable directed graph in compressed sparse row form: the out-edges of vertex
+ * {@code u} are the edge indices {@code firstEdge(u) .. endEdge(u) - 1}, and
+ * {@code target(e)} is the head of edge {@code e}. Two {@code int} sequences, the offsets
+ * and the targets, hold the whole graph, so there is no boxing and a traversal step
+ * reads adjacent memory.
+ *
+ * <p>Out-edges keep the order in which they were given, so searches over a
+ * {@code CsrGraph} visit neighbours in the same order as
+ * {@link AllPathsFromSourceToTarget} does.
+ *
+ * <p>{@link #fromEdges} builds a graph on the heap; {@link CsrGraphFile#open} maps one
+ * from a file instead. Code that walks a graph should only use the edge indices of each
+ * vertex's range, as other implementations may leave gaps between the ranges.
+ */
+public abstract class CsrGraph {
+
+    CsrGraph() {
+    }
+
+    /**
+     * Builds a graph from an edge list in the format of
+     * {@link AllPathsFromSourceToTarget#allPathsFromSourceToTarget}, each edge as
+     * {@code {from, to}}.
+     *
+     * @param vertices the number of vertices
+     * @param edges the edges
+     * @return the graph
+     * @throws IllegalArgumentException if {@code vertices} is negative or an edge is
+     * malformed or refers to a vertex outside {@code 0 .. vertices - 1}
+     */
+    public static CsrGraph fromEdges(int vertices, int[][] edges) throws IllegalArgumentException {
+        if (vertices < 0) {
+            throw new IllegalArgumentException("vertices must not be negative");
+        }
+
+        // Count the out-degrees, then turn the counts into offsets
+        int[] offsets = new int[vertices + 1];
+        for (int[] edge : edges) {
+            if (edge.length < 2 || edge[0] < 0 || edge[0] >= vertices || edge[1] < 0 || edge[1] >= vertices) {
+                throw new IllegalArgumentException("invalid edge " + Arrays.toString(edge) + " for " + vertices + " vertices");
+            }
+            offsets[edge[0] + 1]++;
+        }
+        for (int u = 0; u < vertices; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        // Place each edge after the earlier edges of its source, keeping the input order
+        int[] targets = new int[edges.length];
+        int[] fill = new int[vertices];
+        System.arraycopy(offsets, 0, fill, 0, vertices);
+        for (int[] edge : edges) {
+            targets[fill[edge[0]]++] = edge[1];
+        }
+        return new Heap(vertices, offsets, targets);
+    }
+
+    /**
+     * Builds a graph from the first {@code count} edges {@code from[i] -> to[i]}, which
+     * the caller has already checked.
+     */
+    static CsrGraph fromArrays(int vertices, int[] from, int[] to, int count) {
+        int[] offsets = new int[vertices + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[from[i] + 1]++;
+        }
+        for (int u = 0; u < vertices; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+
+        int[] targets = new int[count];
+        int[] fill = new int[vertices];
+        System.arraycopy(offsets, 0, fill, 0, vertices);
+        for (int i = 0; i < count; i++) {
+            targets[fill[from[i]]++] = to[i];
+        }
+        return new Heap(vertices, offsets, targets);
+    }
+
+    /**
+     * Returns the graph with every edge reversed. The in-edges of each vertex keep the
+     * order of their sources. This implementation builds the reverse on the heap; a graph
+     * opened with {@link CsrGraphFile#open} returns the reverse stored in its file.
+     */
+    public CsrGraph reverse() {
+        final int vertices = vertexCount();
+        int[] reverseOffsets = new int[vertices + 1];
+        for (int u = 0; u < vertices; u++) {
+            for (int e = firstEdge(u); e < endEdge(u); e++) {
+                reverseOffsets[target(e) + 1]++;
+            }
+        }
+        for (int u = 0; u < vertices; u++) {
+            reverseOffsets[u + 1] += reverseOffsets[u];
+        }
+
+        int[] sources = new int[edgeCount()];
+        int[] fill = new int[vertices];
+        System.arraycopy(reverseOffsets, 0, fill, 0, vertices);
+        for (int u = 0; u < vertices; u++) {
+            for (int e = firstEdge(u); e < endEdge(u); e++) {
+                sources[fill[target(e)]++] = u;
+            }
+        }
+        return new Heap(vertices, reverseOffsets, sources);
+    }
+
+    public abstract int vertexCount();
+
+    public abstract int edgeCount();
+
+    /**
+     * Returns the index of the first out-edge of {@code u}.
+     */
+    public abstract int firstEdge(int u);
+
+    /**
+     * Returns one past the index of the last out-edge of {@code u}.
+     */
+    public abstract int endEdge(int u);
+
+    public int outDegree(int u) {
+        return endEdge(u) - firstEdge(u);
+    }
+
+    /**
+     * Returns the vertex edge {@code e} points to.
+     */
+    public abstract int target(int e);
+
+    /**
+     * A graph held in two {@code int} arrays.
+     */
+    private static final class Heap extends CsrGraph {
+
+        private final int vertices;
+        // offsets[u] .. offsets[u + 1] - 1 index the out-edges of u in targets
+        private final int[] offsets;
+        private final int[] targets;
+
+        Heap(int vertices, int[] offsets, int[] targets) {
+            this.vertices = vertices;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        @Override
+        public int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        public int edgeCount() {
+            return targets.length;
+        }
+
+        @Override
+        public int firstEdge(int u) {
+            return offsets[u];
+        }
+
+        @Override
+        public int endEdge(int u) {
+            return offsets[u + 1];
+        }
+
+        @Override
+        public int outDegree(int u) {
+            return offsets[u + 1] - offsets[u];
+        }
+
+        @Override
+        public int target(int e) {
+            return targets[e];
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.thealgorithms.backtracking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes {@link CsrGraph}s in a binary file that can be memory-mapped. A graph
+ * is written once with {@link #write} and opened with {@link #open}, which maps the file
+ * instead of reading it: opening takes the same time for any size of graph, the edges
+ * live in the page cache rather than on the heap, and several processes opening the same
+ * file share its pages. The file also stores the reversed graph, so that
+ * {@link CsrGraph#reverse()}, which the searches use for their reachability sets,
+ * returns a mapped graph too instead of building a copy on the heap.
+ *
+ * <p>The file is little-endian and holds, in order:
+ * <ul>
+ * <li>a 16-byte header: the magic number {@code 0x47525343} ({@code "CSRG"} in file
+ * order), the format version, the number of vertices {@code n} and the number of edges
+ * {@code m}, each as an {@code int};</li>
+ * <li>the {@code n + 1} offsets, where the out-edges of {@code u} are
+ * {@code offsets[u] .. offsets[u + 1] - 1};</li>
+ * <li>the {@code m} edge targets;</li>
+ * <li>from version 2, the {@code n + 1} offsets and {@code m} sources of the reversed
+ * graph, in the same layout.</li>
+ * </ul>
+ * Version 1 files, without the reversed graph, can still be opened; their reverse is
+ * built on the heap.
+ */
+public final class CsrGraphFile {
+
+    /** The first four bytes of every graph file. */
+    public static final int MAGIC = 0x47525343;
+
+    /** The format version written by this class. */
+    public static final int VERSION = 2;
+
+    private static final int HEADER_BYTES = 16;
+
+    // Regions are mapped in chunks of this many ints, as one mapping holds at most 2 GiB
+    private static final int CHUNK_SHIFT = 28;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private CsrGraphFile() {
+    }
+
+    /**
+     * Writes {@code graph} and its reverse to {@code file}, replacing any existing
+     * content. The reverse is placed straight into the file, so only per-vertex arrays are
+     * allocated on the heap.
+     *
+     * @param graph the graph to write
+     * @param file the file to write
+     * @throws IOException if writing fails
+     */
+    public static void write(CsrGraph graph, Path file) throws IOException {
+        final int n = graph.vertexCount();
+        final int m = graph.edgeCount();
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(m);
+            // Offsets are recomputed from the degrees, closing any gaps between ranges
+            int offset = 0;
+            for (int u = 0; u < n; u++) {
+                buffer = put(out, buffer, offset);
+                offset += graph.outDegree(u);
+            }
+            buffer = put(out, buffer, offset);
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    buffer = put(out, buffer, graph.target(e));
+                }
+            }
+
+            // Reverse offsets from the in-degrees, as in CsrGraph.reverse()
+            int[] fill = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    fill[graph.target(e) + 1]++;
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                fill[u + 1] += fill[u];
+            }
+            for (int u = 0; u <= n; u++) {
+                buffer = put(out, buffer, fill[u]);
+            }
+            drain(out, buffer);
+
+            // Scatter each source into the mapped reverse targets, keeping source order
+            long sourcesStart = HEADER_BYTES + 8L * (n + 1L) + 4L * m;
+            if (m > 0) {
+                out.write(ByteBuffer.allocate(1), sourcesStart + 4L * m - 1);
+            }
+            IntBuffer[] sources = map(out, FileChannel.MapMode.READ_WRITE, sourcesStart, m);
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    int i = fill[graph.target(e)]++;
+                    sources[i >>> CHUNK_SHIFT].put(i & CHUNK_MASK, u);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the graph in {@code file}. The mapping stays valid after this method returns
+     * and is released when the graph is garbage collected; the file must not be modified
+     * while it is mapped.
+     *
+     * <p>Only the header and the first and last offsets are checked, so that opening does
+     * not touch the whole file. A file whose other offsets or targets are out of range,
+     * which {@link #write} never produces, makes the searches over the graph throw
+     * {@link IndexOutOfBoundsException}.
+     *
+     * @param file the file to map
+     * @return the mapped graph
+     * @throws IOException if the file cannot be read or is not a valid graph file
+     */
+    public static CsrGraph open(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException(file + " is too short to be a graph file");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (in.read(header, header.position()) < 0) {
+                    throw new IOException(file + " is too short to be a graph file");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a graph file");
+            }
+            int version = header.getInt();
+            if (version != 1 && version != VERSION) {
+                throw new IOException(file + " has unsupported version " + version);
+            }
+            int vertices = header.getInt();
+            int edges = header.getInt();
+            if (vertices < 0 || edges < 0) {
+                throw new IOException(file + " has a corrupt header");
+            }
+            long graphBytes = 4L * (vertices + 1L) + 4L * edges;
+            long expected = HEADER_BYTES + (version == 1 ? graphBytes : 2 * graphBytes);
+            if (size != expected) {
+                throw new IOException(file + " has " + size + " bytes, expected " + expected);
+            }
+
+            MappedGraph graph = map(file, in, vertices, edges, HEADER_BYTES);
+            if (version > 1) {
+                MappedGraph reversed = map(file, in, vertices, edges, HEADER_BYTES + graphBytes);
+                graph.reverse = reversed;
+                reversed.reverse = graph;
+            }
+            return graph;
+        }
+    }
+
+    /**
+     * Maps the offsets and targets of one graph starting at byte {@code start}.
+     */
+    private static MappedGraph map(Path file, FileChannel in, int vertices, int edges, long start) throws IOException {
+        IntBuffer[] offsets = map(in, FileChannel.MapMode.READ_ONLY, start, vertices + 1L);
+        if (get(offsets, 0) != 0 || get(offsets, vertices) != edges) {
+            throw new IOException(file + " has corrupt offsets");
+        }
+        return new MappedGraph(vertices, edges, offsets, map(in, FileChannel.MapMode.READ_ONLY, start + 4L * (vertices + 1L), edges));
+    }
+
+    private static ByteBuffer put(FileChannel out, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            drain(out, buffer);
+        }
+        return buffer.putInt(value);
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Maps {@code count} ints starting at byte {@code start}, in chunks.
+     */
+    private static IntBuffer[] map(FileChannel in, FileChannel.MapMode mode, long start, long count) throws IOException {
+        IntBuffer[] chunks = new IntBuffer[(int) ((count + CHUNK_MASK) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i << CHUNK_SHIFT;
+            long length = Math.min(count - first, 1L << CHUNK_SHIFT);
+            chunks[i] = in.map(mode, start + 4L * first, 4L * length).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return chunks;
+    }
+
+    private static int get(IntBuffer[] chunks, int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    /**
+     * A graph whose offsets and targets are read straight from mapped memory.
+     */
+    private static final class MappedGraph extends CsrGraph {
+
+        private final int vertices;
+        private final int edges;
+        private final IntBuffer[] offsets;
+        private final IntBuffer[] targets;
+        // The mapped reverse, or null for a version 1 file; set once while opening
+        private MappedGraph reverse;
+
+        MappedGraph(int vertices, int edges, IntBuffer[] offsets, IntBuffer[] targets) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        @Override
+        public CsrGraph reverse() {
+            return reverse != null ? reverse : super.reverse();
+        }
+
+        @Override
+        public int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        public int edgeCount() {
+            return edges;
+        }
+
+        @Override
+        public int firstEdge(int u) {
+            return get(offsets, u);
+        }
+
+        @Override
+        public int endEdge(int u) {
+            return get(offsets, u + 1);
+        }
+
+        @Override
+        public int target(int e) {
+            return get(targets, e);
+        }
+    }
+}
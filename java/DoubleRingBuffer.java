@@ -0,0 +1,137 @@
+package com.thealgorithms.audiofilters;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * A preallocated, lock-free ring buffer of primitive samples for exactly one producer
+ * thread and one consumer thread. Neither side ever blocks, allocates or boxes: a write
+ * takes as many samples as fit and a read returns as many as are available.
+ *
+ * <p>The producer publishes its position with a release store after copying the samples
+ * in, and the consumer reads it with an acquire load before copying them out, and the
+ * other way round for the space freed by the consumer. Each side also caches the other
+ * side's last seen position, so the shared positions are only touched when the cached
+ * one runs out.
+ */
+public class DoubleRingBuffer {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(DoubleRingBuffer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(DoubleRingBuffer.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final double[] buffer;
+    private final int mask;
+
+    // Total samples read, written by the consumer only
+    private long head;
+    // Total samples written, written by the producer only
+    private long tail;
+    // The producer's last seen head, and the consumer's last seen tail
+    private long cachedHead;
+    private long cachedTail;
+
+    /**
+     * @param capacity the minimum number of samples the buffer holds, rounded up to a
+     * power of two
+     * @throws IllegalArgumentException if {@code capacity} is less than one or greater
+     * than {@code 2^30}
+     */
+    public DoubleRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30, got " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new double[size];
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns the number of samples that can currently be read. Exact when called by the
+     * consumer, a snapshot otherwise.
+     */
+    public int available() {
+        return (int) ((long) TAIL.getAcquire(this) - (long) HEAD.getAcquire(this));
+    }
+
+    /**
+     * Returns the number of samples that can currently be written. Exact when called by
+     * the producer, a snapshot otherwise.
+     */
+    public int remainingCapacity() {
+        return buffer.length - available();
+    }
+
+    /**
+     * Copies up to {@code len} samples of {@code src} into the buffer. Must only be called
+     * by the producer thread.
+     *
+     * @return the number of samples written, less than {@code len} if the buffer is full
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public int write(double[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        long t = tail;
+        int free = (int) (buffer.length - (t - cachedHead));
+        if (free < len) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            free = (int) (buffer.length - (t - cachedHead));
+        }
+        int n = Math.min(free, len);
+        if (n == 0) {
+            return 0;
+        }
+
+        int start = (int) t & mask;
+        int first = Math.min(n, buffer.length - start);
+        System.arraycopy(src, off, buffer, start, first);
+        System.arraycopy(src, off + first, buffer, 0, n - first);
+        TAIL.setRelease(this, t + n);
+        return n;
+    }
+
+    /**
+     * Copies up to {@code len} samples out of the buffer into {@code dst}. Must only be
+     * called by the consumer thread.
+     *
+     * @return the number of samples read, less than {@code len} if the buffer ran empty
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public int read(double[] dst, int off, int len) {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        long h = head;
+        int ready = (int) (cachedTail - h);
+        if (ready < len) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            ready = (int) (cachedTail - h);
+        }
+        int n = Math.min(ready, len);
+        if (n == 0) {
+            return 0;
+        }
+
+        int start = (int) h & mask;
+        int first = Math.min(n, buffer.length - start);
+        System.arraycopy(buffer, start, dst, off, first);
+        System.arraycopy(buffer, 0, dst, off + first, n - first);
+        HEAD.setRelease(this, h + n);
+        return n;
+    }
+}
@@ -0,0 +1,403 @@
+package com.thealgorithms.backtracking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps the simple paths, or just their number, between registered pairs of vertices up
+ * to date while edges are added and removed. An update does not search the whole graph
+ * again: every path that appears or disappears with edge {@code (u, v)} uses that edge,
+ * so it is a simple path from the source to {@code u} that avoids {@code v}, followed by
+ * a simple path from {@code v} to the destination that avoids the first part. Only these
+ * paths are enumerated, with the search of {@link PathSearch} pruned by reachability.
+ * An update still costs one pass over the graph to build the reachability sets.
+ *
+ * <p>The graph is simple: adding an edge that exists, or removing one that does not, has
+ * no effect. Parallel edges in the initial edge list are merged. Out-edges keep the
+ * order in which they were added, so a newly registered pair sees its paths in the order
+ * of {@link AllPathsFromSourceToTarget}; paths added by later updates follow them.
+ *
+ * <p>An index is not thread-safe.
+ */
+public class DynamicPathIndex {
+
+    private final Graph graph;
+    private final List<Pair> pairs = new ArrayList<>();
+
+    /**
+     * @param vertices the number of vertices
+     * @param edges the initial edges, each as {@code {from, to}}
+     * @throws IllegalArgumentException if {@code vertices} is negative or an edge is
+     * malformed or refers to a vertex outside {@code 0 .. vertices - 1}
+     */
+    public DynamicPathIndex(int vertices, int[][] edges) throws IllegalArgumentException {
+        CsrGraph initial = CsrGraph.fromEdges(vertices, edges);
+        this.graph = new Graph(vertices);
+        for (int u = 0; u < vertices; u++) {
+            for (int e = initial.firstEdge(u); e < initial.endEdge(u); e++) {
+                graph.add(u, initial.target(e));
+            }
+        }
+    }
+
+    /**
+     * Returns a live view of the graph. It must not be searched while the index is being
+     * updated.
+     */
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Starts maintaining the paths from {@code source} to {@code destination}, found by
+     * one full search now.
+     *
+     * @param keepPaths whether to keep the paths themselves, or only their number
+     * @return the registration, which reflects every later update
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public Pair register(int source, int destination, boolean keepPaths) {
+        Objects.checkIndex(source, graph.vertexCount());
+        Objects.checkIndex(destination, graph.vertexCount());
+        Pair pair = new Pair(source, destination, keepPaths);
+        pair.count = new PathSearch(graph).forEachPath(source, destination, (path, length) -> {
+            pair.add(path, length);
+            return true;
+        });
+        pairs.add(pair);
+        return pair;
+    }
+
+    /**
+     * Stops maintaining {@code pair}, which keeps its last state.
+     *
+     * @return whether the pair was registered
+     */
+    public boolean unregister(Pair pair) {
+        return pairs.remove(pair);
+    }
+
+    /**
+     * Adds the edge {@code from -> to} and the paths that use it.
+     *
+     * @return whether the edge was added, {@code false} if it already existed
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public boolean addEdge(int from, int to) {
+        checkEdge(from, to);
+        if (!graph.add(from, to)) {
+            return false;
+        }
+        update(from, to, true);
+        return true;
+    }
+
+    /**
+     * Removes the edge {@code from -> to} and the paths that used it.
+     *
+     * @return whether the edge was removed, {@code false} if it did not exist
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public boolean removeEdge(int from, int to) {
+        checkEdge(from, to);
+        if (!graph.contains(from, to)) {
+            return false;
+        }
+        // The paths through the edge are enumerated while it still exists
+        update(from, to, false);
+        graph.remove(from, to);
+        return true;
+    }
+
+    private void checkEdge(int from, int to) {
+        Objects.checkIndex(from, graph.vertexCount());
+        Objects.checkIndex(to, graph.vertexCount());
+    }
+
+    /**
+     * Adds or removes the paths through the edge {@code u -> v} for every pair.
+     */
+    private void update(int u, int v, boolean added) {
+        final int n = graph.vertexCount();
+        // Shares the reversed graph between the reachability sets of this update
+        PathSearch snapshot = null;
+        for (Pair pair : pairs) {
+            final int s = pair.source;
+            final int t = pair.destination;
+            // A simple path never enters its source or leaves its destination
+            if (s == t || u == t || v == s || u == v) {
+                continue;
+            }
+            if (snapshot == null) {
+                snapshot = new PathSearch(graph);
+            }
+            final long[] toU = snapshot.canReach(u);
+            final long[] toT = snapshot.canReach(t);
+            if ((toU[s >>> 6] & 1L << s) == 0 || (toT[v >>> 6] & 1L << v) == 0) {
+                continue;
+            }
+
+            // Prefixes from s to u that avoid v and t, each completed from v to t
+            final int[] prefix = new int[n];
+            final long[] prefixOnPath = new long[(n + 63) >>> 6];
+            final int[] path = new int[n];
+            final long[] onPath = new long[prefixOnPath.length];
+            PathSearch.Visitor apply = (p, length) -> {
+                pair.apply(p, length, added);
+                return true;
+            };
+            prefix[0] = s;
+            prefixOnPath[s >>> 6] |= 1L << s;
+            prefixOnPath[v >>> 6] |= 1L << v;
+            prefixOnPath[t >>> 6] |= 1L << t;
+            PathSearch.Visitor complete = (p, length) -> {
+                System.arraycopy(p, 0, path, 0, length);
+                path[length] = v;
+                if (v == t) {
+                    apply.visit(path, length + 1);
+                    return true;
+                }
+                Arrays.fill(onPath, 0);
+                for (int i = 0; i <= length; i++) {
+                    onPath[path[i] >>> 6] |= 1L << path[i];
+                }
+                PathSearch.search(graph, path, length + 1, onPath, toT, t, Integer.MAX_VALUE, null, apply);
+                return true;
+            };
+            if (s == u) {
+                complete.visit(prefix, 1);
+            } else {
+                PathSearch.search(graph, prefix, 1, prefixOnPath, toU, u, Integer.MAX_VALUE, null, complete);
+            }
+        }
+    }
+
+    /**
+     * The paths, or the number of paths, from one source to one destination.
+     */
+    public static final class Pair {
+
+        private final int source;
+        private final int destination;
+        // Null when only counting
+        private final Set<PathKey> paths;
+        private long count;
+
+        private Pair(int source, int destination, boolean keepPaths) {
+            this.source = source;
+            this.destination = destination;
+            this.paths = keepPaths ? new LinkedHashSet<>() : null;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public int getDestination() {
+            return destination;
+        }
+
+        /**
+         * Returns the number of simple paths from the source to the destination.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Returns whether the paths themselves are kept.
+         */
+        public boolean hasPaths() {
+            return paths != null;
+        }
+
+        /**
+         * Returns a copy of the simple paths from the source to the destination.
+         *
+         * @throws IllegalStateException if the pair was registered to count only
+         */
+        public List<List<Integer>> paths() throws IllegalStateException {
+            if (paths == null) {
+                throw new IllegalStateException("paths are not kept for this pair");
+            }
+            List<List<Integer>> copy = new ArrayList<>(paths.size());
+            for (PathKey path : paths) {
+                List<Integer> list = new ArrayList<>(path.vertices.length);
+                for (int vertex : path.vertices) {
+                    list.add(vertex);
+                }
+                copy.add(list);
+            }
+            return copy;
+        }
+
+        void add(int[] path, int length) {
+            if (paths != null) {
+                paths.add(new PathKey(Arrays.copyOf(path, length)));
+            }
+        }
+
+        void apply(int[] path, int length, boolean added) {
+            if (added) {
+                count++;
+                add(path, length);
+            } else {
+                count--;
+                if (paths != null) {
+                    paths.remove(new PathKey(Arrays.copyOf(path, length)));
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Pair{source=" + source + ", destination=" + destination + ", count=" + count + "}";
+        }
+    }
+
+    /**
+     * A path as a set element.
+     */
+    private static final class PathKey {
+
+        final int[] vertices;
+        private final int hash;
+
+        PathKey(int[] vertices) {
+            this.vertices = vertices;
+            this.hash = Arrays.hashCode(vertices);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof PathKey && Arrays.equals(vertices, ((PathKey) o).vertices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A mutable graph in the layout of a {@link CsrGraph}: each vertex owns a block of
+     * the target array with room to grow, and moves its block to the end of the array
+     * when it fills up. The array is compacted once moved blocks have left half of it
+     * unused.
+     */
+    private static final class Graph extends CsrGraph {
+
+        private final int vertices;
+        private final int[] start;
+        private final int[] degree;
+        private final int[] capacity;
+        private int[] targets = new int[16];
+        // Slots in use or left behind by moved blocks, and slots owned by blocks
+        private int used;
+        private int owned;
+        private int edges;
+
+        Graph(int vertices) {
+            this.vertices = vertices;
+            this.start = new int[vertices];
+            this.degree = new int[vertices];
+            this.capacity = new int[vertices];
+        }
+
+        boolean contains(int u, int v) {
+            return indexOf(u, v) >= 0;
+        }
+
+        boolean add(int u, int v) {
+            if (indexOf(u, v) >= 0) {
+                return false;
+            }
+            if (degree[u] == capacity[u]) {
+                grow(u);
+            }
+            targets[start[u] + degree[u]++] = v;
+            edges++;
+            return true;
+        }
+
+        boolean remove(int u, int v) {
+            int i = indexOf(u, v);
+            if (i < 0) {
+                return false;
+            }
+            // Shift the later edges down to keep the order
+            int end = start[u] + degree[u];
+            System.arraycopy(targets, i + 1, targets, i, end - i - 1);
+            degree[u]--;
+            edges--;
+            return true;
+        }
+
+        private int indexOf(int u, int v) {
+            for (int e = start[u]; e < start[u] + degree[u]; e++) {
+                if (targets[e] == v) {
+                    return e;
+                }
+            }
+            return -1;
+        }
+
+        private void grow(int u) {
+            int newCapacity = Math.max(4, 2 * capacity[u]);
+            if (used + newCapacity > targets.length) {
+                if (used > 2 * owned) {
+                    compact();
+                }
+                if (used + newCapacity > targets.length) {
+                    targets = Arrays.copyOf(targets, Math.max(2 * targets.length, used + newCapacity));
+                }
+            }
+            System.arraycopy(targets, start[u], targets, used, degree[u]);
+            start[u] = used;
+            used += newCapacity;
+            owned += newCapacity - capacity[u];
+            capacity[u] = newCapacity;
+        }
+
+        private void compact() {
+            int[] packed = new int[targets.length];
+            int next = 0;
+            for (int u = 0; u < vertices; u++) {
+                System.arraycopy(targets, start[u], packed, next, degree[u]);
+                start[u] = next;
+                next += capacity[u];
+            }
+            targets = packed;
+            used = next;
+        }
+
+        @Override
+        public int vertexCount() {
+            return vertices;
+        }
+
+        @Override
+        public int edgeCount() {
+            return edges;
+        }
+
+        @Override
+        public int firstEdge(int u) {
+            return start[u];
+        }
+
+        @Override
+        public int endEdge(int u) {
+            return start[u] + degree[u];
+        }
+
+        @Override
+        public int target(int e) {
+            return targets[e];
+        }
+    }
+}
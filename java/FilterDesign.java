@@ -0,0 +1,122 @@
+package com.thealgorithms.audiofilters;
+
+/**
+ * An immutable filter design produced by {@link FilterDesigner}. The design is held both
+ * as second-order sections and as the equivalent direct-form {@link IIRCoefficients}.
+ * Designs are cached and shared, so the filters created from one design all reference
+ * the same coefficient set.
+ */
+public final class FilterDesign {
+
+    public enum Type { LOWPASS, HIGHPASS, BANDPASS, NOTCH, LOW_SHELF, HIGH_SHELF }
+
+    private final Type type;
+    private final int order;
+    private final double sampleRate;
+    private final double frequency;
+    private final double parameter;
+    // Each section is {b0, b1, b2, a0, a1, a2} with a0 == 1
+    private final double[][] sections;
+    private final IIRCoefficients coefficients;
+
+    FilterDesign(Type type, int order, double sampleRate, double frequency, double parameter, double[][] sections) {
+        this.type = type;
+        this.order = order;
+        this.sampleRate = sampleRate;
+        this.frequency = frequency;
+        this.parameter = parameter;
+        this.sections = sections;
+
+        // Multiply the section polynomials out into direct form
+        double[] a = {1.0};
+        double[] b = {1.0};
+        for (double[] section : sections) {
+            a = multiply(a, section[3], section[4], section[5]);
+            b = multiply(b, section[0], section[1], section[2]);
+        }
+        // A first-order section contributes a trailing zero, which is dropped
+        double[] aCoeffs = new double[order + 1];
+        double[] bCoeffs = new double[order + 1];
+        System.arraycopy(a, 0, aCoeffs, 0, order + 1);
+        System.arraycopy(b, 0, bCoeffs, 0, order + 1);
+        this.coefficients = new IIRCoefficients(aCoeffs, bCoeffs);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Returns the cutoff, centre or corner frequency in Hz, depending on the type.
+     */
+    public double getFrequency() {
+        return frequency;
+    }
+
+    /**
+     * Returns the type-specific parameter: the passband ripple in dB for lowpass and
+     * highpass designs (zero for Butterworth), the quality factor for bandpass and notch
+     * designs, and the total gain in dB for shelves.
+     */
+    public double getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Returns the shared direct-form coefficients of this design.
+     */
+    public IIRCoefficients getCoefficients() {
+        return coefficients;
+    }
+
+    /**
+     * Returns a copy of the second-order sections, each as {@code {b0, b1, b2, a0, a1, a2}}.
+     */
+    public double[][] getSections() {
+        double[][] copy = new double[sections.length][];
+        for (int i = 0; i < sections.length; i++) {
+            copy[i] = sections[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a direct-form filter that references this design's coefficients.
+     */
+    public IIRFilter newFilter() {
+        IIRFilter filter = new IIRFilter(order);
+        filter.setCoeffs(coefficients);
+        return filter;
+    }
+
+    /**
+     * Creates a cascade of this design's second-order sections, which is the more
+     * robust choice for high orders.
+     */
+    public BiquadCascade newCascade() {
+        return new BiquadCascade(sections);
+    }
+
+    @Override
+    public String toString() {
+        return "FilterDesign{" + type + ", order=" + order + ", sampleRate=" + sampleRate + ", frequency=" + frequency + ", parameter=" + parameter + "}";
+    }
+
+    private static double[] multiply(double[] p, double c0, double c1, double c2) {
+        double[] r = new double[p.length + 2];
+        for (int i = 0; i < p.length; i++) {
+            r[i] += p[i] * c0;
+            r[i + 1] += p[i] * c1;
+            r[i + 2] += p[i] * c2;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,327 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Designs lowpass, highpass, bandpass, notch and shelving filters of a given order and
+ * memoizes the results. Designs are immutable and kept in a size-bounded, least recently
+ * used cache keyed by all design parameters, so every stream asking for the same design
+ * gets the same {@link FilterDesign} and the coefficients are computed only once.
+ *
+ * <p>Lowpass and highpass designs are Butterworth or Chebyshev type I filters, built as
+ * cascades of bilinear-transformed sections with the cutoff prewarped. Bandpass, notch
+ * and shelving designs cascade {@code order / 2} identical second-order sections from
+ * the Audio EQ Cookbook; a shelf's gain is split evenly between its sections.
+ *
+ * <p>The cache is safe for concurrent use. A design is computed outside the cache lock,
+ * so a slow design never blocks lookups of other designs; if two threads miss on the
+ * same key at once, both compute it and the first one stored wins.
+ */
+public class FilterDesigner {
+
+    private final int capacity;
+    private final Map<Key, FilterDesign> cache;
+
+    /**
+     * @param capacity the maximum number of designs kept in the cache
+     * @throws IllegalArgumentException if {@code capacity} is less than one
+     */
+    public FilterDesigner(int capacity) throws IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FilterDesign> eldest) {
+                return size() > FilterDesigner.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns a Butterworth lowpass design.
+     */
+    public FilterDesign lowpass(int order, double sampleRate, double cutoff) throws IllegalArgumentException {
+        return design(FilterDesign.Type.LOWPASS, order, sampleRate, cutoff, 0.0);
+    }
+
+    /**
+     * Returns a Butterworth highpass design.
+     */
+    public FilterDesign highpass(int order, double sampleRate, double cutoff) throws IllegalArgumentException {
+        return design(FilterDesign.Type.HIGHPASS, order, sampleRate, cutoff, 0.0);
+    }
+
+    /**
+     * Returns a Chebyshev type I lowpass design with the given passband ripple in dB; a
+     * ripple of zero gives a Butterworth design.
+     */
+    public FilterDesign chebyshevLowpass(int order, double sampleRate, double cutoff, double rippleDb) throws IllegalArgumentException {
+        return design(FilterDesign.Type.LOWPASS, order, sampleRate, cutoff, rippleDb);
+    }
+
+    /**
+     * Returns a Chebyshev type I highpass design with the given passband ripple in dB; a
+     * ripple of zero gives a Butterworth design.
+     */
+    public FilterDesign chebyshevHighpass(int order, double sampleRate, double cutoff, double rippleDb) throws IllegalArgumentException {
+        return design(FilterDesign.Type.HIGHPASS, order, sampleRate, cutoff, rippleDb);
+    }
+
+    /**
+     * Returns a bandpass design with unit gain at {@code centre}. {@code order} must be
+     * even.
+     */
+    public FilterDesign bandpass(int order, double sampleRate, double centre, double q) throws IllegalArgumentException {
+        return design(FilterDesign.Type.BANDPASS, order, sampleRate, centre, q);
+    }
+
+    /**
+     * Returns a notch design. {@code order} must be even.
+     */
+    public FilterDesign notch(int order, double sampleRate, double centre, double q) throws IllegalArgumentException {
+        return design(FilterDesign.Type.NOTCH, order, sampleRate, centre, q);
+    }
+
+    /**
+     * Returns a low shelf with the given total gain in dB below {@code corner}.
+     * {@code order} must be even.
+     */
+    public FilterDesign lowShelf(int order, double sampleRate, double corner, double gainDb) throws IllegalArgumentException {
+        return design(FilterDesign.Type.LOW_SHELF, order, sampleRate, corner, gainDb);
+    }
+
+    /**
+     * Returns a high shelf with the given total gain in dB above {@code corner}.
+     * {@code order} must be even.
+     */
+    public FilterDesign highShelf(int order, double sampleRate, double corner, double gainDb) throws IllegalArgumentException {
+        return design(FilterDesign.Type.HIGH_SHELF, order, sampleRate, corner, gainDb);
+    }
+
+    /**
+     * Returns the number of designs currently cached.
+     */
+    public int cachedDesigns() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Returns the cached design for the given parameters, computing it on a miss.
+     *
+     * @param parameter the ripple in dB, quality factor or gain in dB, depending on the type
+     * @throws IllegalArgumentException if any parameter is out of range
+     */
+    public FilterDesign design(FilterDesign.Type type, int order, double sampleRate, double frequency, double parameter) throws IllegalArgumentException {
+        Key key = new Key(type, order, sampleRate, frequency, parameter);
+        synchronized (cache) {
+            FilterDesign cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        FilterDesign design = compute(type, order, sampleRate, frequency, parameter);
+        synchronized (cache) {
+            FilterDesign raced = cache.putIfAbsent(key, design);
+            return raced != null ? raced : design;
+        }
+    }
+
+    private static FilterDesign compute(FilterDesign.Type type, int order, double sampleRate, double frequency, double parameter) throws IllegalArgumentException {
+        if (order < 1) {
+            throw new IllegalArgumentException("order must be greater than zero");
+        }
+        if (!(sampleRate > 0.0)) {
+            throw new IllegalArgumentException("sampleRate must be positive, got " + sampleRate);
+        }
+        if (!(frequency > 0.0 && frequency < sampleRate / 2)) {
+            throw new IllegalArgumentException("frequency must lie between 0 and " + sampleRate / 2 + ", got " + frequency);
+        }
+
+        double w0 = 2 * Math.PI * frequency / sampleRate;
+        double[][] sections;
+        switch (type) {
+            case LOWPASS:
+            case HIGHPASS:
+                if (!(parameter >= 0.0)) {
+                    throw new IllegalArgumentException("ripple must not be negative, got " + parameter);
+                }
+                sections = lowOrHighpass(type == FilterDesign.Type.LOWPASS, order, w0, parameter);
+                break;
+            case BANDPASS:
+            case NOTCH:
+                requireEvenOrder(type, order);
+                if (!(parameter > 0.0)) {
+                    throw new IllegalArgumentException("q must be positive, got " + parameter);
+                }
+                sections = repeat(order / 2, bandpassOrNotch(type == FilterDesign.Type.BANDPASS, w0, parameter));
+                break;
+            default:
+                requireEvenOrder(type, order);
+                if (!Double.isFinite(parameter)) {
+                    throw new IllegalArgumentException("gain must be finite, got " + parameter);
+                }
+                sections = repeat(order / 2, shelf(type == FilterDesign.Type.LOW_SHELF, w0, parameter / (order / 2)));
+                break;
+        }
+
+        return new FilterDesign(type, order, sampleRate, frequency, parameter, sections);
+    }
+
+    /**
+     * Butterworth ({@code rippleDb == 0}) or Chebyshev type I sections. Each conjugate
+     * pole pair of the analog prototype becomes one section with its own natural
+     * frequency and quality factor; an odd order adds a first-order section.
+     */
+    private static double[][] lowOrHighpass(boolean lowpass, int order, double w0, double rippleDb) {
+        double t = Math.tan(w0 / 2);
+        double[][] sections = new double[(order + 1) / 2][];
+        double epsilon = Math.sqrt(Math.pow(10.0, rippleDb / 10) - 1);
+        double v = rippleDb == 0.0 ? 0.0 : asinh(1 / epsilon) / order;
+
+        for (int k = 0; k < order / 2; k++) {
+            double theta = Math.PI * (2 * k + 1) / (2 * order);
+            double sigma;
+            double omega;
+            if (rippleDb == 0.0) {
+                sigma = Math.sin(theta);
+                omega = Math.cos(theta);
+            } else {
+                sigma = Math.sinh(v) * Math.sin(theta);
+                omega = Math.cosh(v) * Math.cos(theta);
+            }
+            double natural = Math.hypot(sigma, omega);
+            double q = natural / (2 * sigma);
+
+            double kk = lowpass ? t * natural : t / natural;
+            double norm = 1 / (1 + kk / q + kk * kk);
+            double a1 = 2 * (kk * kk - 1) * norm;
+            double a2 = (1 - kk / q + kk * kk) * norm;
+            if (lowpass) {
+                double b0 = kk * kk * norm;
+                sections[k] = new double[] {b0, 2 * b0, b0, 1.0, a1, a2};
+            } else {
+                sections[k] = new double[] {norm, -2 * norm, norm, 1.0, a1, a2};
+            }
+        }
+
+        if (order % 2 == 1) {
+            double sigma = rippleDb == 0.0 ? 1.0 : Math.sinh(v);
+            double kk = lowpass ? t * sigma : t / sigma;
+            double a1 = (kk - 1) / (kk + 1);
+            double b0 = lowpass ? kk / (1 + kk) : 1 / (1 + kk);
+            sections[order / 2] = new double[] {b0, lowpass ? b0 : -b0, 0.0, 1.0, a1, 0.0};
+        } else if (rippleDb != 0.0) {
+            // Even-order Chebyshev filters touch the bottom of the ripple at DC (or Nyquist)
+            double gain = 1 / Math.sqrt(1 + epsilon * epsilon);
+            sections[0][0] *= gain;
+            sections[0][1] *= gain;
+            sections[0][2] *= gain;
+        }
+
+        return sections;
+    }
+
+    private static double[] bandpassOrNotch(boolean bandpass, double w0, double q) {
+        double cos = Math.cos(w0);
+        double alpha = Math.sin(w0) / (2 * q);
+        double a0 = 1 + alpha;
+        if (bandpass) {
+            return new double[] {alpha / a0, 0.0, -alpha / a0, 1.0, -2 * cos / a0, (1 - alpha) / a0};
+        }
+        return new double[] {1 / a0, -2 * cos / a0, 1 / a0, 1.0, -2 * cos / a0, (1 - alpha) / a0};
+    }
+
+    /**
+     * Shelf with a slope of one, as in the Audio EQ Cookbook.
+     */
+    private static double[] shelf(boolean low, double w0, double gainDb) {
+        double a = Math.pow(10.0, gainDb / 40);
+        double cos = Math.cos(w0);
+        double beta = Math.sqrt(2 * a) * Math.sin(w0);
+        double[] s;
+        if (low) {
+            s = new double[] {
+                a * ((a + 1) - (a - 1) * cos + beta),
+                2 * a * ((a - 1) - (a + 1) * cos),
+                a * ((a + 1) - (a - 1) * cos - beta),
+                (a + 1) + (a - 1) * cos + beta,
+                -2 * ((a - 1) + (a + 1) * cos),
+                (a + 1) + (a - 1) * cos - beta,
+            };
+        } else {
+            s = new double[] {
+                a * ((a + 1) + (a - 1) * cos + beta),
+                -2 * a * ((a - 1) + (a + 1) * cos),
+                a * ((a + 1) + (a - 1) * cos - beta),
+                (a + 1) - (a - 1) * cos + beta,
+                2 * ((a - 1) - (a + 1) * cos),
+                (a + 1) - (a - 1) * cos - beta,
+            };
+        }
+        double a0 = s[3];
+        for (int i = 0; i < s.length; i++) {
+            s[i] /= a0;
+        }
+        return s;
+    }
+
+    private static double[][] repeat(int count, double[] section) {
+        double[][] sections = new double[count][];
+        for (int i = 0; i < count; i++) {
+            sections[i] = section.clone();
+        }
+        return sections;
+    }
+
+    private static void requireEvenOrder(FilterDesign.Type type, int order) throws IllegalArgumentException {
+        if (order % 2 != 0) {
+            throw new IllegalArgumentException(type + " designs need an even order, got " + order);
+        }
+    }
+
+    private static double asinh(double x) {
+        return Math.log(x + Math.sqrt(x * x + 1));
+    }
+
+    private static final class Key {
+
+        private final FilterDesign.Type type;
+        private final int order;
+        private final double sampleRate;
+        private final double frequency;
+        private final double parameter;
+
+        Key(FilterDesign.Type type, int order, double sampleRate, double frequency, double parameter) {
+            this.type = type;
+            this.order = order;
+            this.sampleRate = sampleRate;
+            this.frequency = frequency;
+            this.parameter = parameter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return type == that.type && order == that.order && Double.compare(sampleRate, that.sampleRate) == 0 && Double.compare(frequency, that.frequency) == 0 && Double.compare(parameter, that.parameter) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = type.hashCode();
+            h = 31 * h + order;
+            h = 31 * h + Double.hashCode(sampleRate);
+            h = 31 * h + Double.hashCode(frequency);
+            return 31 * h + Double.hashCode(parameter);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Objects;
+
+/**
+ * Fixed-point variant of {@link IIRFilter} for integer PCM. In {@link Format#Q15} mode it
+ * filters 16-bit {@code short} samples, in {@link Format#Q31} mode 32-bit {@code int}
+ * samples; in both cases a full-scale sample represents the range {@code [-1, 1)}.
+ *
+ * <p>Coefficients are normalised by {@code a0} and quantised once, when they are set, to
+ * the largest number of fractional bits that keeps the accumulated sum of products
+ * within a {@code long}. Products are accumulated exactly, the sum is rounded once to
+ * the sample format and saturated, and the saturated output is what is fed back.
+ */
+public class FixedPointIIRFilter {
+
+    public enum Format {
+        /** 16-bit samples in {@code short}. */
+        Q15(16),
+        /** 32-bit samples in {@code int}. */
+        Q31(32);
+
+        private final int bits;
+
+        Format(int bits) {
+            this.bits = bits;
+        }
+    }
+
+    // Fewer fractional coefficient bits than this would make the filter useless
+    private static final int MIN_FRACTION_BITS = 8;
+
+    private final int order;
+    private final Format format;
+    private final long min;
+    private final long max;
+    private final int[] coeffsA;
+    private final int[] coeffsB;
+    private int shift;
+    // Ring-indexed, mirrored history as in IIRFilter, holding samples in the native format
+    private final int[] historyX;
+    private final int[] historyY;
+    private int head;
+
+    public FixedPointIIRFilter(int order, Format format) throws IllegalArgumentException {
+        if (order < 1) {
+            throw new IllegalArgumentException("order must be greater than zero");
+        }
+
+        this.order = order;
+        this.format = Objects.requireNonNull(format, "format");
+        max = (1L << (format.bits - 1)) - 1;
+        min = -(1L << (format.bits - 1));
+        coeffsA = new int[order + 1];
+        coeffsB = new int[order + 1];
+
+        // Sane defaults: pass-through
+        shift = MIN_FRACTION_BITS;
+        coeffsA[0] = 1 << shift;
+        coeffsB[0] = 1 << shift;
+
+        historyX = new int[2 * order];
+        historyY = new int[2 * order];
+    }
+
+    /**
+     * Sets the filter coefficients, in the layout used by {@link IIRFilter}, and quantises
+     * them for this filter's format.
+     *
+     * @param aCoeffs the denominator coefficients {@code a0 .. aN}
+     * @param bCoeffs the numerator coefficients {@code b0 .. bN}
+     * @throws IllegalArgumentException if an array is not of size {@code order + 1},
+     * {@code a0} is zero, or the normalised coefficients are too large to be represented
+     * with useful precision
+     */
+    public void setCoeffs(double[] aCoeffs, double[] bCoeffs) throws IllegalArgumentException {
+        if (aCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("aCoeffs must be of size " + (order + 1) + ", got " + aCoeffs.length);
+        }
+
+        if (aCoeffs[0] == 0.0) {
+            throw new IllegalArgumentException("aCoeffs.get(0) must not be zero");
+        }
+
+        if (bCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("bCoeffs must be of size " + (order + 1) + ", got " + bCoeffs.length);
+        }
+
+        double largest = 0.0;
+        for (int i = 0; i <= order; i++) {
+            largest = Math.max(largest, Math.max(Math.abs(aCoeffs[i]), Math.abs(bCoeffs[i])) / Math.abs(aCoeffs[0]));
+        }
+
+        // Keep sample bits + coefficient bits + one guard bit per doubling of the number
+        // of products within the 63 value bits of the accumulator, with one spare bit so
+        // that rounding a coefficient up can never overflow
+        int guardBits = 32 - Integer.numberOfLeadingZeros(2 * order + 1);
+        int coefficientBits = Math.min(30, 62 - (format.bits - 1) - guardBits);
+        int integerBits = 64 - Long.numberOfLeadingZeros((long) Math.floor(largest));
+        int fractionBits = coefficientBits - integerBits;
+        if (fractionBits < MIN_FRACTION_BITS) {
+            throw new IllegalArgumentException("coefficients are too large for " + format + ", largest normalised magnitude is " + largest);
+        }
+
+        shift = fractionBits;
+        double scale = Math.scalb(1.0, fractionBits);
+        for (int i = 0; i <= order; i++) {
+            coeffsA[i] = (int) Math.round(aCoeffs[i] / aCoeffs[0] * scale);
+            coeffsB[i] = (int) Math.round(bCoeffs[i] / aCoeffs[0] * scale);
+        }
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Filters a single Q15 sample.
+     *
+     * @param sample the input sample
+     * @return the filtered sample, saturated to the {@code short} range
+     * @throws IllegalStateException if this filter is not in {@link Format#Q15} mode
+     */
+    public short process(short sample) {
+        requireFormat(Format.Q15);
+        return (short) step(sample);
+    }
+
+    /**
+     * Filters a single Q31 sample.
+     *
+     * @param sample the input sample
+     * @return the filtered sample, saturated to the {@code int} range
+     * @throws IllegalStateException if this filter is not in {@link Format#Q31} mode
+     */
+    public int process(int sample) {
+        requireFormat(Format.Q31);
+        return step(sample);
+    }
+
+    /**
+     * Filters {@code len} Q15 samples of {@code in} starting at {@code inOff} and writes
+     * the results to {@code out} starting at {@code outOff}. No memory is allocated.
+     *
+     * @param in the input samples
+     * @param inOff index of the first input sample
+     * @param out the array receiving the filtered samples; may be {@code in} only if
+     * {@code outOff == inOff}
+     * @param outOff index of the first output sample
+     * @param len number of samples to filter
+     * @throws IllegalStateException if this filter is not in {@link Format#Q15} mode
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(short[] in, int inOff, short[] out, int outOff, int len) {
+        requireFormat(Format.Q15);
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+
+        for (int k = 0; k < len; k++) {
+            out[outOff + k] = (short) step(in[inOff + k]);
+        }
+    }
+
+    /**
+     * Filters {@code len} Q31 samples of {@code in} starting at {@code inOff} and writes
+     * the results to {@code out} starting at {@code outOff}. No memory is allocated.
+     *
+     * @param in the input samples
+     * @param inOff index of the first input sample
+     * @param out the array receiving the filtered samples; may be {@code in} only if
+     * {@code outOff == inOff}
+     * @param outOff index of the first output sample
+     * @param len number of samples to filter
+     * @throws IllegalStateException if this filter is not in {@link Format#Q31} mode
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(int[] in, int inOff, int[] out, int outOff, int len) {
+        requireFormat(Format.Q31);
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+
+        for (int k = 0; k < len; k++) {
+            out[outOff + k] = step(in[inOff + k]);
+        }
+    }
+
+    /**
+     * Runs the recursion for one sample already widened to {@code int}.
+     */
+    private int step(int sample) {
+        long acc = (long) coeffsB[0] * sample;
+        for (int i = 1; i <= order; i++) {
+            acc += (long) coeffsB[i] * historyX[head + i - 1] - (long) coeffsA[i] * historyY[head + i - 1];
+        }
+
+        // Round to nearest and saturate
+        long rounded = (acc + (1L << (shift - 1))) >> shift;
+        int result = (int) Math.max(min, Math.min(max, rounded));
+
+        head = (head == 0 ? order : head) - 1;
+        historyX[head] = sample;
+        historyX[head + order] = sample;
+        historyY[head] = result;
+        historyY[head + order] = result;
+
+        return result;
+    }
+
+    private void requireFormat(Format expected) {
+        if (format != expected) {
+            throw new IllegalStateException("filter is in " + format + " mode, not " + expected);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Objects;
+
+/**
+ * Single-precision variant of {@link IIRFilter} for float32 PCM. Coefficients, history
+ * and samples are all {@code float}, so blocks are filtered in their native format
+ * without widening to {@code double} and back.
+ */
+public class FloatIIRFilter {
+
+    private final int order;
+    private final float[] coeffsA;
+    private final float[] coeffsB;
+    // Ring-indexed history: the newest sample lives at [head], older ones follow.
+    // Each entry is mirrored at [index + order] so a window of `order` values can
+    // always be read contiguously starting at head, without wrapping.
+    private final float[] historyX;
+    private final float[] historyY;
+    private int head;
+
+    public FloatIIRFilter(int order) throws IllegalArgumentException {
+        if (order < 1) {
+            throw new IllegalArgumentException("order must be greater than zero");
+        }
+
+        this.order = order;
+        coeffsA = new float[order + 1];
+        coeffsB = new float[order + 1];
+
+        // Sane defaults
+        coeffsA[0] = 1.0f;
+        coeffsB[0] = 1.0f;
+
+        historyX = new float[2 * order];
+        historyY = new float[2 * order];
+    }
+
+    /**
+     * Sets the filter coefficients, in the layout used by {@link IIRFilter}.
+     *
+     * @param aCoeffs the denominator coefficients {@code a0 .. aN}
+     * @param bCoeffs the numerator coefficients {@code b0 .. bN}
+     * @throws IllegalArgumentException if an array is not of size {@code order + 1} or
+     * {@code a0} is zero
+     */
+    public void setCoeffs(float[] aCoeffs, float[] bCoeffs) throws IllegalArgumentException {
+        if (aCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("aCoeffs must be of size " + (order + 1) + ", got " + aCoeffs.length);
+        }
+
+        if (aCoeffs[0] == 0.0f) {
+            throw new IllegalArgumentException("aCoeffs.get(0) must not be zero");
+        }
+
+        if (bCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("bCoeffs must be of size " + (order + 1) + ", got " + bCoeffs.length);
+        }
+
+        for (int i = 0; i <= order; i++) {
+            coeffsA[i] = aCoeffs[i];
+            coeffsB[i] = bCoeffs[i];
+        }
+    }
+
+    /**
+     * Filters a single sample.
+     *
+     * @param sample the input sample
+     * @return the filtered sample
+     */
+    public float process(float sample) {
+        float result = 0.0f;
+
+        // Process
+        for (int i = 1; i <= order; i++) {
+            result += (coeffsB[i] * historyX[head + i - 1] - coeffsA[i] * historyY[head + i - 1]);
+        }
+        result = (result + coeffsB[0] * sample) / coeffsA[0];
+
+        // Feedback
+        push(sample, result);
+
+        return result;
+    }
+
+    /**
+     * Filters {@code len} samples of {@code in} starting at {@code inOff} and writes the
+     * results to {@code out} starting at {@code outOff}. The output is identical, bit for
+     * bit, to calling {@link #process(float)} once per sample, and the filter history is
+     * carried over between calls in the same way. No memory is allocated.
+     *
+     * @param in the input samples
+     * @param inOff index of the first input sample
+     * @param out the array receiving the filtered samples; may be {@code in} only if
+     * {@code outOff == inOff}, see {@link #process(float[], int, int)}
+     * @param outOff index of the first output sample
+     * @param len number of samples to filter
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(float[] in, int inOff, float[] out, int outOff, int len) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+
+        final int n = order;
+        final float[] a = coeffsA;
+        final float[] b = coeffsB;
+        final float[] hx = historyX;
+        final float[] hy = historyY;
+        int h = head;
+
+        for (int k = 0; k < len; k++) {
+            float sample = in[inOff + k];
+            float result = 0.0f;
+            for (int i = 1; i <= n; i++) {
+                result += (b[i] * hx[h + i - 1] - a[i] * hy[h + i - 1]);
+            }
+            result = (result + b[0] * sample) / a[0];
+
+            h = (h == 0 ? n : h) - 1;
+            hx[h] = sample;
+            hx[h + n] = sample;
+            hy[h] = result;
+            hy[h + n] = result;
+
+            out[outOff + k] = result;
+        }
+
+        head = h;
+    }
+
+    /**
+     * Filters {@code len} samples of {@code buffer} in place, starting at {@code off}.
+     *
+     * @param buffer the samples to filter, overwritten with the filtered samples
+     * @param off index of the first sample
+     * @param len number of samples to filter
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public void process(float[] buffer, int off, int len) {
+        process(buffer, off, buffer, off, len);
+    }
+
+    /**
+     * Filters the whole of {@code buffer} in place.
+     *
+     * @param buffer the samples to filter, overwritten with the filtered samples
+     */
+    public void process(float[] buffer) {
+        process(buffer, 0, buffer, 0, buffer.length);
+    }
+
+    /**
+     * Moves the ring head one slot back and stores the newest input and output there
+     * and in their mirror slots.
+     */
+    private void push(float sample, float result) {
+        head = (head == 0 ? order : head) - 1;
+        historyX[head] = sample;
+        historyX[head + order] = sample;
+        historyY[head] = result;
+        historyY[head + order] = result;
+    }
+}
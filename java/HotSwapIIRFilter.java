@@ -0,0 +1,181 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Objects;
+
+/**
+ * An {@link IIRFilter} whose coefficients can be retuned from a control thread while an
+ * audio thread is processing, without locks and without clicks.
+ *
+ * <p>The control thread publishes a new immutable {@link IIRCoefficients} set through a
+ * single volatile reference. The audio thread picks it up at the start of the next call
+ * (every sample for {@link #process(double)}, every block otherwise), copies the running
+ * state into a second, preallocated engine that uses the new set, and crossfades
+ * linearly from the old engine's output to the new one over {@code fadeSamples}
+ * samples. The audio thread never blocks or allocates, however often the coefficients
+ * are automated.
+ *
+ * <p>A set published during a fade is applied as soon as the running fade ends, even in
+ * the middle of a block, so a fade always runs to completion and the output never jumps.
+ * Only the most recent set published by then is applied; intermediate ones are skipped.
+ * Under continuous automation the filter therefore follows the control values with a lag
+ * of at most one fade. The process methods must be called from one thread at a time.
+ */
+public class HotSwapIIRFilter {
+
+    private final int order;
+    private final int fadeSamples;
+    private final IIRFilter[] engines;
+    private final IIRFilterState handover;
+
+    // Written by the control thread, read by the audio thread
+    private volatile IIRCoefficients target;
+
+    // Owned by the audio thread: the engine running the newest applied set, the engine
+    // being faded out and the position in the fade
+    private IIRCoefficients applied;
+    private int live;
+    private int fadePos;
+    private boolean fading;
+
+    /**
+     * @param coefficients the initial coefficients, which also fix the order
+     * @param fadeSamples the length of the crossfade after a swap; zero swaps immediately,
+     * carrying the history over
+     * @throws IllegalArgumentException if {@code fadeSamples} is negative
+     */
+    public HotSwapIIRFilter(IIRCoefficients coefficients, int fadeSamples) throws IllegalArgumentException {
+        if (fadeSamples < 0) {
+            throw new IllegalArgumentException("fadeSamples must not be negative");
+        }
+
+        this.order = coefficients.getOrder();
+        this.fadeSamples = fadeSamples;
+        this.engines = new IIRFilter[] {new IIRFilter(order), new IIRFilter(order)};
+        engines[0].setCoeffs(coefficients);
+        this.applied = coefficients;
+        this.target = coefficients;
+        this.handover = new IIRFilterState(coefficients);
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public int getFadeSamples() {
+        return fadeSamples;
+    }
+
+    /**
+     * Publishes a new coefficient set. Safe to call from any thread at any time; the
+     * processing thread switches to it at the start of its next call.
+     *
+     * @throws IllegalArgumentException if the set is not of this filter's order
+     */
+    public void setCoeffs(IIRCoefficients coefficients) throws IllegalArgumentException {
+        if (coefficients.getOrder() != order) {
+            throw new IllegalArgumentException("coefficients must be of order " + order + ", got " + coefficients.getOrder());
+        }
+        target = coefficients;
+    }
+
+    /**
+     * Returns the most recently published coefficient set.
+     */
+    public IIRCoefficients getCoeffs() {
+        return target;
+    }
+
+    /**
+     * Returns whether a crossfade is in progress. Only meaningful on the processing
+     * thread.
+     */
+    public boolean isFading() {
+        return fading;
+    }
+
+    /**
+     * Filters one sample, first switching to a newly published set if there is one.
+     */
+    public double process(double sample) {
+        applyTarget();
+        if (!fading) {
+            return engines[live].process(sample);
+        }
+        return fadeStep(sample);
+    }
+
+    /**
+     * Filters {@code len} samples of {@code in} into {@code out}, first switching to a
+     * newly published set if there is one. The same aliasing rules as
+     * {@link IIRFilter#process(double[], int, double[], int, int)} apply.
+     *
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(double[] in, int inOff, double[] out, int outOff, int len) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+        applyTarget();
+
+        int k = 0;
+        while (fading && k < len) {
+            out[outOff + k] = fadeStep(in[inOff + k]);
+            k++;
+            if (!fading) {
+                // Start the fade to a set published during the one that just ended
+                applyTarget();
+            }
+        }
+        engines[live].process(in, inOff + k, out, outOff + k, len - k);
+    }
+
+    /**
+     * Filters {@code len} samples of {@code buffer} in place, starting at {@code off}.
+     *
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public void process(double[] buffer, int off, int len) {
+        process(buffer, off, buffer, off, len);
+    }
+
+    /**
+     * Clears the history of both engines and ends any crossfade.
+     */
+    public void reset() {
+        engines[0].reset();
+        engines[1].reset();
+        fading = false;
+    }
+
+    /**
+     * Hands the running state over to the idle engine with the published set, if it
+     * differs from the applied one and no fade is running. Swapping during a fade would
+     * drop the faded-out engine and make the output jump.
+     */
+    private void applyTarget() {
+        IIRCoefficients next = target;
+        if (next == applied || fading) {
+            return;
+        }
+
+        int other = 1 - live;
+        engines[live].saveState(handover);
+        handover.coefficients = next;
+        engines[other].restoreState(handover);
+        live = other;
+        applied = next;
+        fading = fadeSamples > 0;
+        fadePos = 0;
+    }
+
+    private double fadeStep(double sample) {
+        double from = engines[1 - live].process(sample);
+        double to = engines[live].process(sample);
+        fadePos++;
+        if (fadePos == fadeSamples) {
+            fading = false;
+            return to;
+        }
+        double gain = (double) fadePos / fadeSamples;
+        return from + gain * (to - from);
+    }
+}
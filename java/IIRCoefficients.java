@@ -0,0 +1,92 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of direct-form IIR coefficients {@code a0 .. aN} and
+ * {@code b0 .. bN}, in the layout used by {@link IIRFilter}. Because the set can never
+ * change, filters reference it instead of copying it, so one set can be shared by any
+ * number of filter instances and threads.
+ */
+public final class IIRCoefficients {
+
+    private final int order;
+    // Read directly by the filter engines; never modified after construction
+    final double[] coeffsA;
+    final double[] coeffsB;
+
+    /**
+     * @param aCoeffs the denominator coefficients {@code a0 .. aN}, copied
+     * @param bCoeffs the numerator coefficients {@code b0 .. bN}, copied
+     * @throws IllegalArgumentException if the arrays differ in size, hold fewer than two
+     * coefficients or {@code a0} is zero
+     */
+    public IIRCoefficients(double[] aCoeffs, double[] bCoeffs) throws IllegalArgumentException {
+        if (aCoeffs.length < 2) {
+            throw new IllegalArgumentException("aCoeffs must hold at least two coefficients, got " + aCoeffs.length);
+        }
+
+        if (aCoeffs[0] == 0.0) {
+            throw new IllegalArgumentException("aCoeffs.get(0) must not be zero");
+        }
+
+        if (bCoeffs.length != aCoeffs.length) {
+            throw new IllegalArgumentException("bCoeffs must be of size " + aCoeffs.length + ", got " + bCoeffs.length);
+        }
+
+        this.order = aCoeffs.length - 1;
+        this.coeffsA = aCoeffs.clone();
+        this.coeffsB = bCoeffs.clone();
+    }
+
+    /**
+     * Returns the pass-through coefficients of the given order.
+     */
+    public static IIRCoefficients identity(int order) {
+        double[] a = new double[order + 1];
+        double[] b = new double[order + 1];
+        a[0] = 1.0;
+        b[0] = 1.0;
+        return new IIRCoefficients(a, b);
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns a copy of the denominator coefficients {@code a0 .. aN}.
+     */
+    public double[] getCoeffsA() {
+        return coeffsA.clone();
+    }
+
+    /**
+     * Returns a copy of the numerator coefficients {@code b0 .. bN}.
+     */
+    public double[] getCoeffsB() {
+        return coeffsB.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IIRCoefficients)) {
+            return false;
+        }
+        IIRCoefficients that = (IIRCoefficients) o;
+        return Arrays.equals(coeffsA, that.coeffsA) && Arrays.equals(coeffsB, that.coeffsB);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(coeffsA) + Arrays.hashCode(coeffsB);
+    }
+
+    @Override
+    public String toString() {
+        return "IIRCoefficients{a=" + Arrays.toString(coeffsA) + ", b=" + Arrays.toString(coeffsB) + "}";
+    }
+}
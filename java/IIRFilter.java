@@ -1,12 +1,49 @@
 package com.thealgorithms.audiofilters;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 public class IIRFilter {
 
+    /**
+     * How the filter keeps its feedback history out of the subnormal range, where
+     * floating point arithmetic is many times slower, while the input is silent.
+     */
+    public enum DenormalProtection {
+        /** No protection; the output is exactly that of the plain recursion. */
+        NONE,
+        /**
+         * Inputs and outputs below {@code 1e-30} in magnitude, about -600 dB, are replaced
+         * by zero. Works for every filter type at the cost of one comparison per value.
+         */
+        FLUSH_TO_ZERO,
+        /**
+         * A constant offset of {@code 1e-20} is added to every input, so the history
+         * settles on a tiny DC level instead of decaying. Costs one addition per sample.
+         * Filters that block DC can in principle still decay to subnormal values, so
+         * {@link #FLUSH_TO_ZERO} is the safer choice for them.
+         */
+        DC_OFFSET
+    }
+
+    private static final double FLUSH_THRESHOLD = 1e-30;
+    private static final double DC_OFFSET_LEVEL = 1e-20;
+
     private final int order;
-    private final double[] coeffsA;
-    private final double[] coeffsB;
+    // Immutable and possibly shared with other filters. Swapping this one reference is
+    // the only way coefficients change, so a concurrent process call sees either the
+    // old set or the new one, never a mix.
+    private volatile IIRCoefficients coefficients;
+    // Ring-indexed history: the newest sample lives at [head], older ones follow.
+    // Each entry is mirrored at [index + order] so a window of `order` values can
+    // always be read contiguously starting at head, without wrapping.
     private final double[] historyX;
     private final double[] historyY;
+    private int head;
+
+    private DenormalProtection denormalProtection = DenormalProtection.NONE;
+    // Null unless metrics are enabled, so disabled metrics cost one branch per call
+    private IIRFilterMetrics metrics;
 
     public IIRFilter(int order) throws IllegalArgumentException {
         if (order < 1) {
@@ -14,35 +51,133 @@ public class IIRFilter {
         }
 
         this.order = order;
-        coeffsA = new double[order + 1];
-        coeffsB = new double[order + 1];
 
         // Sane defaults
-        coeffsA[0] = 1.0;
-        coeffsB[0] = 1.0;
+        setCoeffs(IIRCoefficients.identity(order));
 
-        historyX = new double[order];
-        historyY = new double[order];
+        historyX = new double[2 * order];
+        historyY = new double[2 * order];
     }
 
-    
+    /**
+     * Sets the filter coefficients {@code a0 .. aN} and {@code b0 .. bN}. Both arrays are
+     * copied.
+     *
+     * @throws IllegalArgumentException if an array is not of size {@code order + 1} or
+     * {@code a0} is zero
+     */
     public void setCoeffs(double[] aCoeffs, double[] bCoeffs) throws IllegalArgumentException {
-        if (aCoeffs.length != order) {
-            throw new IllegalArgumentException("aCoeffs must be of size " + order + ", got " + aCoeffs.length);
+        if (aCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("aCoeffs must be of size " + (order + 1) + ", got " + aCoeffs.length);
         }
 
         if (aCoeffs[0] == 0.0) {
             throw new IllegalArgumentException("aCoeffs.get(0) must not be zero");
         }
 
-        if (bCoeffs.length != order) {
-            throw new IllegalArgumentException("bCoeffs must be of size " + order + ", got " + bCoeffs.length);
+        if (bCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("bCoeffs must be of size " + (order + 1) + ", got " + bCoeffs.length);
+        }
+
+        setCoeffs(new IIRCoefficients(aCoeffs, bCoeffs));
+    }
+
+    /**
+     * Uses the given immutable coefficient set. It is referenced rather than copied, so
+     * any number of filters can share one set, such as a cached {@link FilterDesign}.
+     * The set is published with a single volatile write, so this may be called from a
+     * control thread while another thread is processing: a block already in progress
+     * finishes with the previous set. To avoid clicks when retuning a running stream,
+     * use {@link HotSwapIIRFilter}.
+     *
+     * @throws IllegalArgumentException if the set is not of this filter's order
+     */
+    public void setCoeffs(IIRCoefficients coefficients) throws IllegalArgumentException {
+        if (coefficients.getOrder() != order) {
+            throw new IllegalArgumentException("coefficients must be of order " + order + ", got " + coefficients.getOrder());
         }
 
-        for (int i = 0; i <= order; i++) {
-            coeffsA[i] = aCoeffs[i];
-            coeffsB[i] = bCoeffs[i];
+        this.coefficients = coefficients;
+    }
+
+    public IIRCoefficients getCoeffs() {
+        return coefficients;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public DenormalProtection getDenormalProtection() {
+        return denormalProtection;
+    }
+
+    /**
+     * Sets how subnormal values are kept out of the history. The default is
+     * {@link DenormalProtection#NONE}. Must not be called while another thread is
+     * processing.
+     */
+    public void setDenormalProtection(DenormalProtection denormalProtection) {
+        this.denormalProtection = Objects.requireNonNull(denormalProtection, "denormalProtection");
+    }
+
+    public IIRFilterMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts recording into {@code metrics}, which may be shared by several filters, or
+     * stops recording if it is {@code null}. Must not be called while another thread is
+     * processing.
+     */
+    public void setMetrics(IIRFilterMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Copies the coefficient reference and the history of this filter into
+     * {@code state}, without allocating.
+     *
+     * @throws IllegalArgumentException if the state is not of this filter's order
+     */
+    public void saveState(IIRFilterState state) throws IllegalArgumentException {
+        if (state.getOrder() != order) {
+            throw new IllegalArgumentException("state must be of order " + order + ", got " + state.getOrder());
+        }
+
+        // The mirrored ring holds the newest `order` values contiguously from head
+        System.arraycopy(historyX, head, state.history, 0, order);
+        System.arraycopy(historyY, head, state.history, order, order);
+        state.coefficients = coefficients;
+    }
+
+    /**
+     * Replaces the coefficients and the history of this filter with those in
+     * {@code state}, without allocating. The filter then continues the stream the state
+     * was saved from.
+     *
+     * @throws IllegalArgumentException if the state is not of this filter's order
+     */
+    public void restoreState(IIRFilterState state) throws IllegalArgumentException {
+        if (state.getOrder() != order) {
+            throw new IllegalArgumentException("state must be of order " + order + ", got " + state.getOrder());
         }
+
+        setCoeffs(state.coefficients);
+        head = 0;
+        System.arraycopy(state.history, 0, historyX, 0, order);
+        System.arraycopy(state.history, 0, historyX, order, order);
+        System.arraycopy(state.history, order, historyY, 0, order);
+        System.arraycopy(state.history, order, historyY, order, order);
+    }
+
+    /**
+     * Clears the history, as if no samples had been processed. The coefficients are kept.
+     */
+    public void reset() {
+        Arrays.fill(historyX, 0.0);
+        Arrays.fill(historyY, 0.0);
+        head = 0;
     }
 
     /**
@@ -66,23 +201,139 @@ public class IIRFilter {
      * of the input series with reduced noise.
      */
     public double process(double sample) {
+        final IIRCoefficients c = coefficients;
+        final double[] coeffsA = c.coeffsA;
+        final double[] coeffsB = c.coeffsB;
+        final DenormalProtection protection = denormalProtection;
         double result = 0.0;
+        int flushed = 0;
+
+        if (protection == DenormalProtection.DC_OFFSET) {
+            sample += DC_OFFSET_LEVEL;
+        } else if (protection == DenormalProtection.FLUSH_TO_ZERO && Math.abs(sample) < FLUSH_THRESHOLD) {
+            flushed += sample != 0.0 ? 1 : 0;
+            sample = 0.0;
+        }
 
         // Process
         for (int i = 1; i <= order; i++) {
-            result += (coeffsB[i] * historyX[i - 1] - coeffsA[i] * historyY[i - 1]);
+            result += (coeffsB[i] * historyX[head + i - 1] - coeffsA[i] * historyY[head + i - 1]);
         }
         result = (result + coeffsB[0] * sample) / coeffsA[0];
 
-        // Feedback
-        for (int i = order - 1; i > 0; i--) {
-            historyX[i] = historyX[i - 1];
-            historyY[i] = historyY[i - 1];
+        if (protection == DenormalProtection.FLUSH_TO_ZERO && Math.abs(result) < FLUSH_THRESHOLD) {
+            flushed += result != 0.0 ? 1 : 0;
+            result = 0.0;
         }
 
-        historyX[0] = sample;
-        historyY[0] = result;
+        // Feedback
+        push(sample, result);
+
+        if (metrics != null) {
+            metrics.record(result, flushed);
+        }
 
         return result;
     }
+
+    /**
+     * Filters {@code len} samples of {@code in} starting at {@code inOff} and writes the
+     * results to {@code out} starting at {@code outOff}. The output is identical, bit for
+     * bit, to calling {@link #process(double)} once per sample, and the filter history is
+     * carried over between calls in the same way. No memory is allocated. If metrics are
+     * enabled, the output is scanned once more afterwards and the call is timed.
+     *
+     * @param in the input samples
+     * @param inOff index of the first input sample
+     * @param out the array receiving the filtered samples; may be {@code in} only if
+     * {@code outOff == inOff}, see {@link #process(double[], int, int)}
+     * @param outOff index of the first output sample
+     * @param len number of samples to filter
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(double[] in, int inOff, double[] out, int outOff, int len) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+
+        final int n = order;
+        final IIRCoefficients c = coefficients;
+        final double[] a = c.coeffsA;
+        final double[] b = c.coeffsB;
+        final double[] hx = historyX;
+        final double[] hy = historyY;
+        final boolean flush = denormalProtection == DenormalProtection.FLUSH_TO_ZERO;
+        final boolean offset = denormalProtection == DenormalProtection.DC_OFFSET;
+        final IIRFilterMetrics m = metrics;
+        final long start = m != null ? System.nanoTime() : 0L;
+        int flushed = 0;
+        int h = head;
+
+        for (int k = 0; k < len; k++) {
+            double sample = in[inOff + k];
+            if (offset) {
+                sample += DC_OFFSET_LEVEL;
+            } else if (flush && Math.abs(sample) < FLUSH_THRESHOLD) {
+                flushed += sample != 0.0 ? 1 : 0;
+                sample = 0.0;
+            }
+
+            double result = 0.0;
+            for (int i = 1; i <= n; i++) {
+                result += (b[i] * hx[h + i - 1] - a[i] * hy[h + i - 1]);
+            }
+            result = (result + b[0] * sample) / a[0];
+
+            if (flush && Math.abs(result) < FLUSH_THRESHOLD) {
+                flushed += result != 0.0 ? 1 : 0;
+                result = 0.0;
+            }
+
+            h = (h == 0 ? n : h) - 1;
+            hx[h] = sample;
+            hx[h + n] = sample;
+            hy[h] = result;
+            hy[h + n] = result;
+
+            out[outOff + k] = result;
+        }
+
+        head = h;
+
+        if (m != null) {
+            m.record(out, outOff, len, flushed, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Filters {@code len} samples of {@code buffer} in place, starting at {@code off}.
+     *
+     * @param buffer the samples to filter, overwritten with the filtered samples
+     * @param off index of the first sample
+     * @param len number of samples to filter
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public void process(double[] buffer, int off, int len) {
+        process(buffer, off, buffer, off, len);
+    }
+
+    /**
+     * Filters the whole of {@code buffer} in place.
+     *
+     * @param buffer the samples to filter, overwritten with the filtered samples
+     */
+    public void process(double[] buffer) {
+        process(buffer, 0, buffer, 0, buffer.length);
+    }
+
+    /**
+     * Moves the ring head one slot back and stores the newest input and output there
+     * and in their mirror slots.
+     */
+    private void push(double sample, double result) {
+        head = (head == 0 ? order : head) - 1;
+        historyX[head] = sample;
+        historyX[head + order] = sample;
+        historyY[head] = result;
+        historyY[head + order] = result;
+    }
 }
@@ -0,0 +1,235 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Objects;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Runs the same IIR filter design over many interleaved channels at once. The history
+ * of all channels is kept in structure-of-arrays form, one row of {@code channels}
+ * values per delay, so that a frame is processed as a few wide vector operations across
+ * channels. The recursion over time is still evaluated sample by sample.
+ *
+ * <p>When the {@code jdk.incubator.vector} module is available (run with
+ * {@code --add-modules jdk.incubator.vector}) the channels are processed with the Vector
+ * API, otherwise with an equivalent scalar loop. Both paths perform the same operations
+ * in the same order as {@link IIRFilter#process(double)}, so every channel produces
+ * exactly the output a separate {@link IIRFilter} with the same coefficients would.
+ */
+public class IIRFilterBank {
+
+    private static final boolean VECTORIZED = vectorApiAvailable();
+
+    private final int order;
+    private final int channels;
+    private volatile IIRCoefficients coefficients;
+    // Row r of the history holds the r-th delay of every channel at [r * channels + ch]
+    private final double[] historyX;
+    private final double[] historyY;
+    // Offsets of the rows for delays 1..order, refreshed once per frame
+    private final int[] rows;
+    private int head;
+
+    public IIRFilterBank(int order, int channels) throws IllegalArgumentException {
+        if (order < 1) {
+            throw new IllegalArgumentException("order must be greater than zero");
+        }
+        if (channels < 1) {
+            throw new IllegalArgumentException("channels must be greater than zero");
+        }
+
+        this.order = order;
+        this.channels = channels;
+
+        // Sane defaults
+        setCoeffs(IIRCoefficients.identity(order));
+
+        historyX = new double[order * channels];
+        historyY = new double[order * channels];
+        rows = new int[order];
+    }
+
+    /**
+     * Creates a bank of the order of {@code coefficients} that uses them for all
+     * channels.
+     *
+     * @throws IllegalArgumentException if {@code channels} is less than one
+     */
+    public IIRFilterBank(IIRCoefficients coefficients, int channels) throws IllegalArgumentException {
+        this(coefficients.getOrder(), channels);
+        setCoeffs(coefficients);
+    }
+
+    /**
+     * Sets the coefficients shared by all channels, in the layout used by
+     * {@link IIRFilter}. Both arrays are copied.
+     *
+     * @param aCoeffs the denominator coefficients {@code a0 .. aN}
+     * @param bCoeffs the numerator coefficients {@code b0 .. bN}
+     * @throws IllegalArgumentException if an array is not of size {@code order + 1} or
+     * {@code a0} is zero
+     */
+    public void setCoeffs(double[] aCoeffs, double[] bCoeffs) throws IllegalArgumentException {
+        if (aCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("aCoeffs must be of size " + (order + 1) + ", got " + aCoeffs.length);
+        }
+
+        if (aCoeffs[0] == 0.0) {
+            throw new IllegalArgumentException("aCoeffs.get(0) must not be zero");
+        }
+
+        if (bCoeffs.length != order + 1) {
+            throw new IllegalArgumentException("bCoeffs must be of size " + (order + 1) + ", got " + bCoeffs.length);
+        }
+
+        setCoeffs(new IIRCoefficients(aCoeffs, bCoeffs));
+    }
+
+    /**
+     * Uses the given immutable coefficient set for all channels, as
+     * {@link IIRFilter#setCoeffs(IIRCoefficients)} does. A block already in progress
+     * finishes with the previous set.
+     *
+     * @throws IllegalArgumentException if the set is not of this bank's order
+     */
+    public void setCoeffs(IIRCoefficients coefficients) throws IllegalArgumentException {
+        if (coefficients.getOrder() != order) {
+            throw new IllegalArgumentException("coefficients must be of order " + order + ", got " + coefficients.getOrder());
+        }
+
+        this.coefficients = coefficients;
+    }
+
+    public IIRCoefficients getCoeffs() {
+        return coefficients;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    /**
+     * Returns whether frames are processed with the Vector API rather than the scalar
+     * fallback.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Filters {@code frames} interleaved frames of {@code in} starting at {@code inOff}
+     * and writes the interleaved results to {@code out} starting at {@code outOff}. Each
+     * frame holds one sample per channel. No memory is allocated.
+     *
+     * @param in the interleaved input samples
+     * @param inOff index of the first sample of the first frame
+     * @param out the array receiving the filtered samples; may be {@code in} only if
+     * {@code outOff == inOff}
+     * @param outOff index of the first output sample
+     * @param frames number of frames to filter
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(double[] in, int inOff, double[] out, int outOff, int frames) {
+        int len = Math.multiplyExact(frames, channels);
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+
+        final IIRCoefficients c = coefficients;
+        for (int f = 0; f < frames; f++) {
+            int row = head;
+            for (int i = 0; i < order; i++) {
+                rows[i] = row * channels;
+                row = row + 1 == order ? 0 : row + 1;
+            }
+            // The newest frame replaces the oldest row, which is read before it is written
+            head = (head == 0 ? order : head) - 1;
+
+            int frameIn = inOff + f * channels;
+            int frameOut = outOff + f * channels;
+            int ch = 0;
+            if (VECTORIZED) {
+                ch = VectorKernel.processFrame(order, channels, c.coeffsA, c.coeffsB, historyX, historyY, rows, head * channels, in, frameIn, out, frameOut);
+            }
+            processFrame(c.coeffsA, c.coeffsB, ch, frameIn, frameOut, in, out);
+        }
+    }
+
+    /**
+     * Filters {@code frames} interleaved frames of {@code buffer} in place, starting at
+     * {@code off}.
+     *
+     * @param buffer the interleaved samples, overwritten with the filtered samples
+     * @param off index of the first sample of the first frame
+     * @param frames number of frames to filter
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public void process(double[] buffer, int off, int frames) {
+        process(buffer, off, buffer, off, frames);
+    }
+
+    /**
+     * Scalar path: filters channels {@code from .. channels - 1} of one frame, after the
+     * ring head has already been moved to the row receiving the new samples.
+     */
+    private void processFrame(double[] a, double[] b, int from, int frameIn, int frameOut, double[] in, double[] out) {
+        final double[] hx = historyX;
+        final double[] hy = historyY;
+        final int newRow = head * channels;
+
+        for (int ch = from; ch < channels; ch++) {
+            double sample = in[frameIn + ch];
+            double result = 0.0;
+            for (int i = 1; i <= order; i++) {
+                int r = rows[i - 1] + ch;
+                result += (b[i] * hx[r] - a[i] * hy[r]);
+            }
+            result = (result + b[0] * sample) / a[0];
+
+            hx[newRow + ch] = sample;
+            hy[newRow + ch] = result;
+            out[frameOut + ch] = result;
+        }
+    }
+
+    private static boolean vectorApiAvailable() {
+        try {
+            return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorKernel.SPECIES.length() > 1;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Vector API path. Kept in its own class so that it is only loaded, together with
+     * the incubator module, when the module is actually present.
+     */
+    private static final class VectorKernel {
+
+        private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+        /**
+         * Filters as many whole vectors of channels of one frame as fit, and returns the
+         * first channel left for the scalar path.
+         */
+        static int processFrame(int order, int channels, double[] a, double[] b, double[] hx, double[] hy, int[] rows, int newRow, double[] in, int frameIn, double[] out, int frameOut) {
+            int bound = SPECIES.loopBound(channels);
+            int ch = 0;
+            for (; ch < bound; ch += SPECIES.length()) {
+                DoubleVector result = DoubleVector.zero(SPECIES);
+                for (int i = 1; i <= order; i++) {
+                    int r = rows[i - 1] + ch;
+                    DoubleVector x = DoubleVector.fromArray(SPECIES, hx, r);
+                    DoubleVector y = DoubleVector.fromArray(SPECIES, hy, r);
+                    result = result.add(x.mul(b[i]).sub(y.mul(a[i])));
+                }
+                DoubleVector sample = DoubleVector.fromArray(SPECIES, in, frameIn + ch);
+                result = result.add(sample.mul(b[0])).div(a[0]);
+
+                sample.intoArray(hx, newRow + ch);
+                result.intoArray(hy, newRow + ch);
+                result.intoArray(out, frameOut + ch);
+            }
+            return ch;
+        }
+    }
+}
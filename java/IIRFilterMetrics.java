@@ -0,0 +1,182 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime counters for one or more {@link IIRFilter}s, enabled with
+ * {@link IIRFilter#setMetrics(IIRFilterMetrics)}. A filter without metrics does no
+ * counting at all; with metrics, block calls are timed and their output is scanned once
+ * after filtering, so the filter's inner loop is the same either way.
+ *
+ * <p>The counters may be updated by several filters on different threads and read from
+ * any thread at any time. Each reading is individually up to date, but readings taken
+ * while filters are running are not a consistent snapshot of each other.
+ */
+public class IIRFilterMetrics {
+
+    private final double clipLevel;
+
+    private final LongAdder samples = new LongAdder();
+    // Samples and time of the timed block calls only
+    private final LongAdder timedSamples = new LongAdder();
+    private final LongAdder timedNanos = new LongAdder();
+    private final LongAdder denormals = new LongAdder();
+    private final LongAdder clipped = new LongAdder();
+    private final LongAdder nans = new LongAdder();
+    private final AtomicLong maxMagnitudeBits = new AtomicLong();
+
+    /**
+     * Creates metrics that count outputs beyond full scale, {@code 1.0}, as clipped.
+     */
+    public IIRFilterMetrics() {
+        this(1.0);
+    }
+
+    /**
+     * @param clipLevel the magnitude above which an output counts as clipped
+     * @throws IllegalArgumentException if {@code clipLevel} is not positive
+     */
+    public IIRFilterMetrics(double clipLevel) throws IllegalArgumentException {
+        if (!(clipLevel > 0.0)) {
+            throw new IllegalArgumentException("clipLevel must be greater than zero");
+        }
+        this.clipLevel = clipLevel;
+    }
+
+    public double getClipLevel() {
+        return clipLevel;
+    }
+
+    /**
+     * Returns the number of samples filtered.
+     */
+    public long samples() {
+        return samples.sum();
+    }
+
+    /**
+     * Returns the throughput of the block calls in samples per second of time spent
+     * filtering, or zero before the first block call. Single-sample calls are counted but
+     * not timed, since timing them would cost more than filtering.
+     */
+    public double samplesPerSecond() {
+        long nanos = timedNanos.sum();
+        return nanos == 0 ? 0.0 : timedSamples.sum() * 1e9 / nanos;
+    }
+
+    /**
+     * Returns the number of subnormal values seen: values flushed to zero by
+     * {@link IIRFilter.DenormalProtection#FLUSH_TO_ZERO} plus subnormal outputs.
+     */
+    public long denormalEvents() {
+        return denormals.sum();
+    }
+
+    /**
+     * Returns the number of outputs whose magnitude exceeded the clip level.
+     */
+    public long clippedSamples() {
+        return clipped.sum();
+    }
+
+    /**
+     * Returns the number of NaN outputs, which a filter produces once its state holds a
+     * NaN or an infinity.
+     */
+    public long nanSamples() {
+        return nans.sum();
+    }
+
+    /**
+     * Returns the largest output magnitude seen, not counting NaN outputs.
+     */
+    public double maxMagnitude() {
+        return Double.longBitsToDouble(maxMagnitudeBits.get());
+    }
+
+    /**
+     * Clears all counters.
+     */
+    public void reset() {
+        samples.reset();
+        timedSamples.reset();
+        timedNanos.reset();
+        denormals.reset();
+        clipped.reset();
+        nans.reset();
+        maxMagnitudeBits.set(0L);
+    }
+
+    @Override
+    public String toString() {
+        return "IIRFilterMetrics{samples=" + samples() + ", samplesPerSecond=" + samplesPerSecond() + ", denormalEvents=" + denormalEvents() + ", clippedSamples=" + clippedSamples() + ", nanSamples=" + nanSamples() + ", maxMagnitude=" + maxMagnitude() + "}";
+    }
+
+    /**
+     * Records one output of a single-sample call.
+     */
+    void record(double output, int flushed) {
+        double magnitude = Math.abs(output);
+        samples.increment();
+        if (flushed != 0 || isSubnormal(magnitude)) {
+            denormals.add(flushed + (isSubnormal(magnitude) ? 1 : 0));
+        }
+        if (magnitude > clipLevel) {
+            clipped.increment();
+        }
+        if (Double.isNaN(magnitude)) {
+            nans.increment();
+        } else {
+            updateMax(magnitude);
+        }
+    }
+
+    /**
+     * Records the output of a block call that took {@code nanos} nanoseconds.
+     */
+    void record(double[] out, int off, int len, int flushed, long nanos) {
+        double max = 0.0;
+        int clips = 0;
+        int subnormals = 0;
+        int nanCount = 0;
+        for (int k = off; k < off + len; k++) {
+            double magnitude = Math.abs(out[k]);
+            // Unlike Math.max, a comparison passes over NaN, which is counted instead
+            max = magnitude > max ? magnitude : max;
+            clips += magnitude > clipLevel ? 1 : 0;
+            subnormals += isSubnormal(magnitude) ? 1 : 0;
+            nanCount += magnitude != magnitude ? 1 : 0;
+        }
+
+        samples.add(len);
+        timedSamples.add(len);
+        timedNanos.add(nanos);
+        if (flushed + subnormals != 0) {
+            denormals.add(flushed + subnormals);
+        }
+        if (clips != 0) {
+            clipped.add(clips);
+        }
+        if (nanCount != 0) {
+            nans.add(nanCount);
+        }
+        updateMax(max);
+    }
+
+    private static boolean isSubnormal(double magnitude) {
+        return magnitude != 0.0 && magnitude < Double.MIN_NORMAL;
+    }
+
+    /**
+     * Raises the maximum without locking. Non-negative doubles order like their bits;
+     * {@code magnitude} must not be NaN, whose bits would beat every magnitude.
+     */
+    private void updateMax(double magnitude) {
+        long bits = Double.doubleToRawLongBits(magnitude);
+        long current = maxMagnitudeBits.get();
+        while (bits > current && !maxMagnitudeBits.compareAndSet(current, bits)) {
+            current = maxMagnitudeBits.get();
+        }
+    }
+}
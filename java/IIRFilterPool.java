@@ -0,0 +1,127 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A thread-safe pool of reusable {@link IIRFilter} engines of one order, for serving many
+ * short-lived streams from a few worker threads. Each stream keeps only its
+ * {@link IIRFilterState}; a worker borrows an engine, restores the stream's state into it,
+ * filters one block and saves the state back.
+ *
+ * <p>Borrowing and returning an engine do not allocate once the pool is warm. When the
+ * pool is empty a new engine is created, and engines returned to a full pool are dropped,
+ * so the pool never blocks.
+ */
+public class IIRFilterPool {
+
+    private final int order;
+    private final ArrayBlockingQueue<IIRFilter> idle;
+
+    /**
+     * @param order the order of the pooled filters
+     * @param capacity the maximum number of idle engines kept, typically the number of
+     * worker threads
+     * @throws IllegalArgumentException if {@code order} or {@code capacity} is less than
+     * one
+     */
+    public IIRFilterPool(int order, int capacity) throws IllegalArgumentException {
+        if (order < 1) {
+            throw new IllegalArgumentException("order must be greater than zero");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+
+        this.order = order;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            idle.offer(new IIRFilter(order));
+        }
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the number of engines currently idle in the pool.
+     */
+    public int idleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Creates the state of a new stream using the given coefficients.
+     *
+     * @throws IllegalArgumentException if the set is not of the pool's order
+     */
+    public IIRFilterState newState(IIRCoefficients coefficients) throws IllegalArgumentException {
+        if (coefficients.getOrder() != order) {
+            throw new IllegalArgumentException("coefficients must be of order " + order + ", got " + coefficients.getOrder());
+        }
+        return new IIRFilterState(coefficients);
+    }
+
+    /**
+     * Borrows an engine holding the given stream state. It must be handed back with
+     * {@link #release(IIRFilter, IIRFilterState)}.
+     *
+     * @throws IllegalArgumentException if the state is not of the pool's order
+     */
+    public IIRFilter acquire(IIRFilterState state) throws IllegalArgumentException {
+        IIRFilter filter = idle.poll();
+        if (filter == null) {
+            filter = new IIRFilter(order);
+        }
+        try {
+            filter.restoreState(state);
+        } catch (IllegalArgumentException e) {
+            idle.offer(filter);
+            throw e;
+        }
+        return filter;
+    }
+
+    /**
+     * Saves the engine's state into {@code state} and returns the engine to the pool.
+     * Settings a caller made on the engine, its metrics and denormal protection, are
+     * reset to the defaults so they do not carry over to the next stream.
+     *
+     * @throws IllegalArgumentException if the filter or the state is not of the pool's
+     * order
+     */
+    public void release(IIRFilter filter, IIRFilterState state) throws IllegalArgumentException {
+        if (filter.getOrder() != order) {
+            throw new IllegalArgumentException("filter must be of order " + order + ", got " + filter.getOrder());
+        }
+        filter.saveState(state);
+        filter.setMetrics(null);
+        filter.setDenormalProtection(IIRFilter.DenormalProtection.NONE);
+        idle.offer(filter);
+    }
+
+    /**
+     * Filters {@code len} samples of {@code in} for the stream with the given state,
+     * using a pooled engine, and updates the state. Safe to call from any number of
+     * threads, as long as each state is used by one thread at a time.
+     *
+     * @throws IllegalArgumentException if the state is not of the pool's order
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(IIRFilterState state, double[] in, int inOff, double[] out, int outOff, int len) throws IllegalArgumentException {
+        IIRFilter filter = acquire(state);
+        try {
+            filter.process(in, inOff, out, outOff, len);
+        } finally {
+            release(filter, state);
+        }
+    }
+
+    /**
+     * Filters {@code len} samples of {@code buffer} in place for the stream with the given
+     * state, as {@link #process(IIRFilterState, double[], int, double[], int, int)}.
+     */
+    public void process(IIRFilterState state, double[] buffer, int off, int len) throws IllegalArgumentException {
+        process(state, buffer, off, buffer, off, len);
+    }
+}
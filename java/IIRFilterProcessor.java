@@ -0,0 +1,238 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+/**
+ * A {@link Flow.Processor} that filters {@link SampleBlock}s in place through one or more
+ * {@link IIRFilter}s and passes them on.
+ *
+ * <p>The processor holds no buffer of its own: every block is filtered and emitted on the
+ * thread that delivered it, and demand from the subscriber is forwarded upstream
+ * unchanged. A slow subscriber therefore throttles the publisher through demand. When the
+ * source draws its blocks from a {@link SampleBlockPool} and the last consumer releases
+ * them, the memory in flight stays bounded by the pool as well.
+ *
+ * <p>Signals to the subscriber never overlap. Demand is only forwarded once the
+ * subscriber's {@code onSubscribe} has returned, and a terminal signal waits for that and
+ * for any block being handed over; whichever thread finishes last sends it.
+ *
+ * <p>The processor supports a single subscriber and a single upstream subscription. The
+ * filters must not be used elsewhere while the processor is subscribed.
+ */
+public class IIRFilterProcessor implements Flow.Processor<SampleBlock, SampleBlock> {
+
+    private final IIRFilter[] filters;
+
+    // Guards the fields below; filtering and the calls to the subscriber run outside it
+    private final Object lock = new Object();
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super SampleBlock> downstream;
+    // Whether the subscriber's onSubscribe has returned
+    private boolean subscribed;
+    // Whether a block is being handed to the subscriber
+    private boolean emitting;
+    // Demand not yet forwarded, waiting for the upstream subscription or onSubscribe
+    private long pendingDemand;
+    private boolean cancelled;
+    // Set by the first terminal signal; later ones and later blocks are dropped
+    private boolean done;
+    // Set once that signal has been sent to the subscriber
+    private boolean terminated;
+    // The terminal signal waiting to be sent
+    private boolean completed;
+    private Throwable failure;
+
+    /**
+     * @param filters the filters, applied to each block in order
+     * @throws IllegalArgumentException if no filters are given
+     */
+    public IIRFilterProcessor(IIRFilter... filters) throws IllegalArgumentException {
+        if (filters.length < 1) {
+            throw new IllegalArgumentException("at least one filter is required");
+        }
+        for (IIRFilter filter : filters) {
+            Objects.requireNonNull(filter, "filter");
+        }
+        this.filters = filters.clone();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SampleBlock> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        synchronized (lock) {
+            if (downstream != null) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("IIRFilterProcessor supports a single subscriber"));
+                return;
+            }
+            downstream = subscriber;
+        }
+
+        subscriber.onSubscribe(new Subscription());
+        Flow.Subscription subscription;
+        long demand = 0;
+        synchronized (lock) {
+            subscribed = true;
+            subscription = upstream;
+            if (subscription != null && !cancelled) {
+                demand = pendingDemand;
+                pendingDemand = 0;
+            }
+        }
+        if (demand > 0) {
+            subscription.request(demand);
+        }
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        long demand = 0;
+        synchronized (lock) {
+            if (upstream != null || cancelled) {
+                demand = -1;
+            } else {
+                upstream = subscription;
+                if (subscribed) {
+                    demand = pendingDemand;
+                    pendingDemand = 0;
+                }
+            }
+        }
+
+        if (demand < 0) {
+            subscription.cancel();
+        } else if (demand > 0) {
+            subscription.request(demand);
+        }
+    }
+
+    @Override
+    public void onNext(SampleBlock block) {
+        Flow.Subscriber<? super SampleBlock> subscriber = null;
+        synchronized (lock) {
+            if (!cancelled && !done && subscribed) {
+                subscriber = downstream;
+                emitting = true;
+            }
+        }
+        if (subscriber == null) {
+            block.release();
+            return;
+        }
+
+        try {
+            double[] data = block.data();
+            int length = block.length();
+            for (IIRFilter filter : filters) {
+                filter.process(data, 0, length);
+            }
+            subscriber.onNext(block);
+        } finally {
+            synchronized (lock) {
+                emitting = false;
+            }
+            drain();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            done = true;
+            failure = throwable;
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            if (done) {
+                return;
+            }
+            done = true;
+            completed = true;
+        }
+        drain();
+    }
+
+    /**
+     * Sends the recorded terminal signal if the subscriber can take it now. Otherwise the
+     * thread that is still signalling the subscriber calls this again when it is done.
+     */
+    private void drain() {
+        Flow.Subscriber<? super SampleBlock> subscriber;
+        Throwable error;
+        synchronized (lock) {
+            if (!done || terminated || emitting || !subscribed) {
+                return;
+            }
+            terminated = true;
+            subscriber = downstream;
+            error = failure;
+            failure = null;
+        }
+        if (error != null) {
+            subscriber.onError(error);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+    /**
+     * The subscriber's view: forwards demand and cancellation upstream.
+     */
+    private final class Subscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Rule 3.9: cancel, then fail the subscriber like any other terminal signal
+                cancel();
+                onError(new IllegalArgumentException("request must be greater than zero, got " + n));
+                return;
+            }
+
+            Flow.Subscription subscription;
+            synchronized (lock) {
+                if (cancelled) {
+                    return;
+                }
+                subscription = subscribed ? upstream : null;
+                if (subscription == null) {
+                    // Saturate like other publishers: Long.MAX_VALUE means unbounded
+                    pendingDemand = pendingDemand + n < 0 ? Long.MAX_VALUE : pendingDemand + n;
+                }
+            }
+            if (subscription != null) {
+                subscription.request(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription subscription;
+            synchronized (lock) {
+                cancelled = true;
+                subscription = upstream;
+            }
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The complete state of one {@link IIRFilter} stream, held apart from any filter so
+ * that a few filter engines can serve many streams. It consists of the coefficient set
+ * reference and a single primitive array with the last {@code order} inputs followed by
+ * the last {@code order} outputs, newest first.
+ *
+ * <p>A state is saved into and restored from without allocating. Instances are not
+ * thread-safe; a stream's state must be handed between threads with the usual
+ * happens-before guarantees, for example through a queue.
+ *
+ * @see IIRFilter#saveState(IIRFilterState)
+ * @see IIRFilter#restoreState(IIRFilterState)
+ * @see IIRFilterPool
+ */
+public final class IIRFilterState {
+
+    private final int order;
+    IIRCoefficients coefficients;
+    // x[n-1] .. x[n-order], then y[n-1] .. y[n-order]
+    final double[] history;
+
+    /**
+     * Creates the state of a stream that has not processed any samples yet.
+     *
+     * @param coefficients the coefficients of the stream
+     */
+    public IIRFilterState(IIRCoefficients coefficients) {
+        this.coefficients = Objects.requireNonNull(coefficients, "coefficients");
+        this.order = coefficients.getOrder();
+        this.history = new double[2 * order];
+    }
+
+    /**
+     * Creates a state from the coefficients and a history in the layout of
+     * {@link #getHistory()}.
+     *
+     * @throws IllegalArgumentException if {@code history} is not of size {@code 2 * order}
+     */
+    public IIRFilterState(IIRCoefficients coefficients, double[] history) throws IllegalArgumentException {
+        this(coefficients);
+        if (history.length != 2 * order) {
+            throw new IllegalArgumentException("history must be of size " + 2 * order + ", got " + history.length);
+        }
+        System.arraycopy(history, 0, this.history, 0, history.length);
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public IIRCoefficients getCoefficients() {
+        return coefficients;
+    }
+
+    /**
+     * Replaces the coefficients, keeping the history.
+     *
+     * @throws IllegalArgumentException if the set is not of this state's order
+     */
+    public void setCoefficients(IIRCoefficients coefficients) throws IllegalArgumentException {
+        if (coefficients.getOrder() != order) {
+            throw new IllegalArgumentException("coefficients must be of order " + order + ", got " + coefficients.getOrder());
+        }
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Returns a copy of the history: the last {@code order} inputs followed by the last
+     * {@code order} outputs, newest first.
+     */
+    public double[] getHistory() {
+        return history.clone();
+    }
+
+    /**
+     * Clears the history, as if the stream had not processed any samples.
+     */
+    public void reset() {
+        Arrays.fill(history, 0.0);
+    }
+}
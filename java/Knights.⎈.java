@@ -1,5 +1,22 @@
 package com.thealgorithms.backtracking;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+/**
+ * Finds a knight's tour, a sequence of knight moves that visits every square of a board
+ * exactly once, by backtracking with Warnsdorff's rule: the knight always tries the
+ * squares with the fewest onward moves first, and gives up on a move that leaves some
+ * unvisited square without any way in.
+ *
+ * <p>A {@code KnightsTour} only holds the board size; every search has its own state, so
+ * one instance can run any number of searches at once. {@link #solveAll} and
+ * {@link #solveAny} search from several start squares in parallel on a
+ * {@link ForkJoinPool}. {@link KnightsTourBitboard} finds the same tours without
+ * allocating during the search.
+ */
 public class KnightsTour {
 /**
  * This is a recursive function that calculates and returns the size of a singly
@@ -31,7 +48,6 @@ public int size() {
         return count;
     }
 }
-    private static final int base = 12;
     private static final int[][] moves = {
         {1, -2},
         {2, -1},
@@ -42,207 +58,292 @@ public int size() {
         {-2, -1},
         {-1, -2},
     }; // Possible moves by knight on chess
-    
-    private static int[][] grid; // chess grid
-    private static int total; // total squares in chess
+
+    // Blocked squares around the board, so that no move leaves the grid
+    private static final int BORDER = 2;
+
+    private final int rows;
+    private final int columns;
 
     /**
-     * This function generates a random minefield grid with random mines and tries to
-     * find a path of live cells (i.e., non-mine) from the top left corner to the bottom
-     * right corner. If a solution is found (a path without stepping on any mines), it
-     * prints the solution; otherwise it just says "no result".
-     * 
-     * @param args There are no arguments passed to the main function here so there is
-     * nothing for the 'args' parameter to do. In a normal circumstance there should be
-     * an array of string inputs called 'args'.
+     * Creates a solver for the standard 8x8 board.
      */
-    public static void main(String[] args) {
-        grid = new int[base][base];
-        total = (base - 4) * (base - 4);
+    public KnightsTour() {
+        this(8, 8);
+    }
 
-        for (int r = 0; r < base; r++) {
-            for (int c = 0; c < base; c++) {
-                if (r < 2 || r > base - 3 || c < 2 || c > base - 3) {
-                    grid[r][c] = -1;
-                }
-            }
+    /**
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @throws IllegalArgumentException if {@code rows} or {@code columns} is less than one
+     */
+    public KnightsTour(int rows, int columns) throws IllegalArgumentException {
+        if (rows < 1) {
+            throw new IllegalArgumentException("rows must be greater than zero");
         }
+        if (columns < 1) {
+            throw new IllegalArgumentException("columns must be greater than zero");
+        }
+        this.rows = rows;
+        this.columns = columns;
+    }
 
-        int row = 2 + (int) (Math.random() * (base - 4));
-        int col = 2 + (int) (Math.random() * (base - 4));
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
 
-        grid[row][col] = 1;
+    /**
+     * Searches from a random square of an 8x8 board and prints the tour found.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        KnightsTour tour = new KnightsTour();
+        int row = (int) (Math.random() * tour.rows);
+        int col = (int) (Math.random() * tour.columns);
 
-        if (solve(row, col, 2)) {
-            printResult();
+        int[][] board = tour.solve(row, col);
+        if (board != null) {
+            printResult(board);
         } else {
             System.out.println("no result");
         }
     }
 
     /**
-     * This function `solve(int row`, `int column`, `int count)` tries to find a solution
-     * to a slitherlink puzzle by iterating over the neighboring cells of a given cell
-     * and increasing the value of that cell if the combined values of the two cells don't
-     * exceed the total value. It returns `true` if a solution is found and `false` otherwise.
-     * 
-     * @param row The `row` input parameter represents the row number of a cell on the
-     * grid that is being processed for a potential win. It is used to iterate over the
-     * neighboring cells and find a winning configuration.
-     * 
-     * @param column In this function `column` is a parameter that specifies the column
-     * number of the cell being processed. It is used to iterate over the neighbors of a
-     * cell and check if the neighboring cells have the same value as the current cell.
-     * 
-     * @param count The `count` input parameter represents the number of alive cell that
-     * we start with. The function uses it to check if a given cell is full (has count >
-     * total) and also when combining cells.
-     * 
-     * @returns The function `solve` takes an integer `row`, `column`, and `count` as
-     * input and returns a boolean value indicating whether the game state represented
-     * by the 2D grid `grid` is a valid Sudoku solution for the given `row`, `column`,
-     * and `count`.
+     * Returns every square of the board as {@code {row, column}}, row by row.
      */
-    
-    private static boolean solve(int row, int column, int count) {
-        if (count > total) {
-            return true;
-        }
-
-        List<int[]> neighbor = neighbors(row, column);
-
-        if (neighbor.isEmpty() && count != total) {
-            return false;
-        }
-
-        neighbor.sort(Comparator.comparingInt(a -> a[2]));
-
-        for (int[] nb : neighbor) {
-            row = nb[0];
-            column = nb[1];
-            grid[row][column] = count;
-            if (!orphanDetected(count, row, column) && solve(row, column, count + 1)) {
-                return true;
+    public int[][] startSquares() {
+        int[][] squares = new int[rows * columns][];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                squares[r * columns + c] = new int[] {r, c};
             }
-            grid[row][column] = 0;
         }
+        return squares;
+    }
 
-        return false;
+    /**
+     * Searches for a tour that starts on the given square.
+     *
+     * @param row the row of the start square
+     * @param column the column of the start square
+     * @return the board with the number of the move that reaches each square, from 1 for
+     * the start square, or {@code null} if there is no tour from the square
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     */
+    public int[][] solve(int row, int column) {
+        return solve(row, column, () -> false);
     }
 
     /**
-     * This function `neighbors(int row++, int column++)` returns a list of integer tuples
-     * representing the neighbors of the current position (row and column) on the game
-     * grid. It does so by iterating over a list of valid moves `moves` and counting the
-     * number of neighbors for each position reached by moving from the current position
-     * to the target position.
-     * 
-     * @param row The `row` input parameter specifies the row number of the current cell
-     * being processed. It is used to index into the `grid` array to determine the values
-     * of cells located above or to the left of the current cell.
-     * 
-     * @param column The `column` input parameter specifies the current position on the
-     * grid that is being analyzed for possible moves.
-     * 
-     * @returns This function returns a List of integer arrays representing the neighbors
-     * of a given row and column position on a grid. Each integer array has three elements:
-     * the y-coordinate of the neighboring cell (second element), the x-coordinate of the
-     * neighboring cell (first element), and the number of neurons that cell contains
-     * (third element).
+     * Searches for a tour that starts on the given square, until {@code cancelled}
+     * returns {@code true}. The search checks it before every move.
+     *
+     * @return the board with the move numbers, or {@code null} if there is no tour from
+     * the square or the search was cancelled
+     * @throws IndexOutOfBoundsException if the square is not on the board
      */
-    private static List<int[]> neighbors(int row, int column) {
-        List<int[]> neighbour = new ArrayList<>();
-
-        for (int[] m : moves) {
-            int x = m[0];
-            int y = m[1];
-            if (grid[row + y][column + x] == 0) {
-                int num = countNeighbors(row + y, column + x);
-                neighbour.add(new int[] {row + y, column + x, num});
-            }
+    public int[][] solve(int row, int column, BooleanSupplier cancelled) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(column, columns);
+        Search search = new Search(cancelled);
+        return search.run(row + BORDER, column + BORDER) ? search.board() : null;
+    }
+
+    /**
+     * Searches from every one of {@code starts} in parallel on {@code pool}.
+     *
+     * @param starts the start squares, each as {@code {row, column}}
+     * @param pool the pool running the searches
+     * @return per start square, in order, the board of its tour or {@code null}
+     * @throws IndexOutOfBoundsException if a square is not on the board
+     */
+    public List<int[][]> solveAll(int[][] starts, ForkJoinPool pool) {
+        checkStarts(starts);
+        List<ForkJoinTask<int[][]>> tasks = new ArrayList<>(starts.length);
+        for (int[] start : starts) {
+            tasks.add(pool.submit(() -> solve(start[0], start[1])));
+        }
+        List<int[][]> boards = new ArrayList<>(starts.length);
+        for (ForkJoinTask<int[][]> task : tasks) {
+            boards.add(task.join());
         }
-        return neighbour;
+        return boards;
     }
 
     /**
-     * This function counts the number of non-zero cells that are located on the same row
-     * and column as a given cell.
-     * 
-     * @param row The `row` input parameter represents the current cell being evaluated
-     * for neighboring cells. It determines the starting point for the iteration over the
-     * move array.
-     * 
-     * @param column The `column` input parameter is used to iterate through the rows of
-     * the grid while counting the number of neighboring empty cells. It determines the
-     * current column being examined.
-     * 
-     * @returns The output returned by this function is an integer value that represents
-     * the number of non-zero neighbors of a given cell (row and column) on a grid with
-     * size NxN.
+     * Searches from all of {@code starts} in parallel on {@code pool} and returns the
+     * first tour found. The other searches are cancelled as soon as one succeeds.
+     *
+     * @param starts the start squares, each as {@code {row, column}}
+     * @param pool the pool running the searches
+     * @return the board of a tour from one of the squares, or {@code null} if there is
+     * none
+     * @throws IndexOutOfBoundsException if a square is not on the board
      */
-    private static int countNeighbors(int row, int column) {
-        int num = 0;
-        for (int[] m : moves) {
-            if (grid[row + m[1]][column + m[0]] == 0) {
-                num++;
-            }
+    public int[][] solveAny(int[][] starts, ForkJoinPool pool) {
+        checkStarts(starts);
+        AtomicBoolean found = new AtomicBoolean();
+        AtomicReference<int[][]> first = new AtomicReference<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(starts.length);
+        for (int[] start : starts) {
+            tasks.add(pool.submit(() -> {
+                if (found.get()) {
+                    return;
+                }
+                int[][] board = solve(start[0], start[1], found::get);
+                if (board != null && first.compareAndSet(null, board)) {
+                    found.set(true);
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return first.get();
+    }
+
+    private void checkStarts(int[][] starts) {
+        for (int[] start : starts) {
+            Objects.checkIndex(start[0], rows);
+            Objects.checkIndex(start[1], columns);
         }
-        return num;
     }
 
     /**
-     * This function checks if a given cell (row and column) has no alive neighbors (cells
-     * with a value of 1). It does this by iterating over the neighbors of the given cell
-     * and checking if all of their alive neighbors have been cleared. If such a cell is
-     * found (i.e., a cell with no alive neighbors), the function returns true. Otherwise
-     * (if no such cell is found), it returns false.
-     * 
-     * @param count The `count` input parameter represents the number of mines remaining
-     * to be discovered.
-     * 
-     * @param row The `row` input parameter specifies the row number of the detected orphan.
-     * 
-     * @param column The `column` parameter represents the column index of the current
-     * cell being evaluated for orphanhood.
-     * 
-     * @returns This function takes three integers `count`, `row`, and `column` as input
-     * and returns a boolean value indicating whether an orphan node (i.e., a node that
-     * has no neighbors) has been detected.
-     * 
-     * Here's a concise description of the output:
-     * 
-     * 	- If `count < total - 1` (i.e., there are still some neighboring nodes to be
-     * checked), the function checks the neighboring nodes of the current node (`row`, `column`).
-     * 	- If none of the neighbors have any neighbors themselves (i.e., `countNeighbors(nb[0],
-     * nb[1]) == 0`), then an orphan node has been detected and the function returns `true`.
-     * 	- Otherwise (i.e., there is at least one neighbor with neighbors), the function
-     * returns `false`.
+     * The state of one search: the board with a border of blocked squares, holding -1
+     * for a blocked square, 0 for a free one and the move number for a visited one.
      */
-    private static boolean orphanDetected(int count, int row, int column) {
-        if (count < total - 1) {
+    private final class Search {
+
+        private final int[][] grid;
+        private final int total;
+        private final BooleanSupplier cancelled;
+
+        Search(BooleanSupplier cancelled) {
+            this.cancelled = cancelled;
+            this.total = rows * columns;
+            this.grid = new int[rows + 2 * BORDER][columns + 2 * BORDER];
+            for (int r = 0; r < grid.length; r++) {
+                for (int c = 0; c < grid[r].length; c++) {
+                    if (r < BORDER || r >= rows + BORDER || c < BORDER || c >= columns + BORDER) {
+                        grid[r][c] = -1;
+                    }
+                }
+            }
+        }
+
+        boolean run(int row, int column) {
+            grid[row][column] = 1;
+            return solve(row, column, 2);
+        }
+
+        /**
+         * Returns the move numbers without the border.
+         */
+        int[][] board() {
+            int[][] board = new int[rows][];
+            for (int r = 0; r < rows; r++) {
+                board[r] = Arrays.copyOfRange(grid[r + BORDER], BORDER, BORDER + columns);
+            }
+            return board;
+        }
+
+        /**
+         * Extends the tour from the square of move {@code count - 1}, trying the
+         * neighbours with the fewest onward moves first.
+         *
+         * @return whether the tour was completed
+         */
+        private boolean solve(int row, int column, int count) {
+            if (count > total) {
+                return true;
+            }
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+
             List<int[]> neighbor = neighbors(row, column);
+
+            if (neighbor.isEmpty() && count != total) {
+                return false;
+            }
+
+            neighbor.sort(Comparator.comparingInt(a -> a[2]));
+
             for (int[] nb : neighbor) {
-                if (countNeighbors(nb[0], nb[1]) == 0) {
+                row = nb[0];
+                column = nb[1];
+                grid[row][column] = count;
+                if (!orphanDetected(count, row, column) && solve(row, column, count + 1)) {
                     return true;
                 }
+                grid[row][column] = 0;
+            }
+
+            return false;
+        }
+
+        /**
+         * Returns the free squares a knight can move to from the given square, each as
+         * {@code {row, column, onward moves}}.
+         */
+        private List<int[]> neighbors(int row, int column) {
+            List<int[]> neighbour = new ArrayList<>();
+
+            for (int[] m : moves) {
+                int x = m[0];
+                int y = m[1];
+                if (grid[row + y][column + x] == 0) {
+                    int num = countNeighbors(row + y, column + x);
+                    neighbour.add(new int[] {row + y, column + x, num});
+                }
             }
+            return neighbour;
+        }
+
+        /**
+         * Returns the number of free squares a knight can move to from the given square.
+         */
+        private int countNeighbors(int row, int column) {
+            int num = 0;
+            for (int[] m : moves) {
+                if (grid[row + m[1]][column + m[0]] == 0) {
+                    num++;
+                }
+            }
+            return num;
+        }
+
+        /**
+         * Returns whether the move to the given square left one of its free neighbours
+         * with no free square to move to, so that the tour cannot be completed. This is
+         * not checked for the last two moves, where it is expected.
+         */
+        private boolean orphanDetected(int count, int row, int column) {
+            if (count < total - 1) {
+                List<int[]> neighbor = neighbors(row, column);
+                for (int[] nb : neighbor) {
+                    if (countNeighbors(nb[0], nb[1]) == 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
         }
-        return false;
     }
 
     /**
-     * This function prints the values storedin a two-dimensional int array 'grid', with
-     * each row represented as a list of integers. For each row it checks if any value
-     * is -1 and skips those rows entirely. Otherwise it formats each integer with a space
-     * and a padding of 2 spaces before the next integer. Finally it prints a new line
-     * at the end of each row.
+     * Prints the move numbers of a board, one row per line.
      */
-    private static void printResult() {
-        for (int[] row : grid) {
+    private static void printResult(int[][] board) {
+        for (int[] row : board) {
             for (int i : row) {
-                if (i == -1) {
-                    continue;
-                }
                 System.out.printf("%2d ", i);
             }
             System.out.println();
@@ -0,0 +1,343 @@
+package com.thealgorithms.backtracking;
+
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Finds knight's tours like {@link KnightsTour}, with the same move order and pruning and
+ * therefore the same tours, but without allocating during the search. The free squares
+ * are a bitboard of {@code long} words, one bit per square in row-major order. Every square
+ * has a precomputed mask of the squares a knight reaches from it, stored as the nonzero
+ * words only, so the number of onward moves from a square is a population count of its
+ * mask and the free squares, one word per row the moves reach. A board of up to 64
+ * squares, such as 8x8, runs a separate search that keeps the free squares in a single
+ * {@code long} and each mask in one word, with no word indexing at all.
+ *
+ * <p>The search is iterative. Each level keeps its candidate moves, at most eight, in a
+ * preallocated slice ordered by Warnsdorff's rule with an insertion sort. A move is
+ * abandoned if it leaves a free neighbour without onward moves, except for the last two
+ * moves of the tour.
+ *
+ * <p>The move tables are built once per instance and only read by searches, so one
+ * instance can run any number of searches at once.
+ */
+public class KnightsTourBitboard {
+
+    // Knight moves as {column delta, row delta}, in the order KnightsTour tries them
+    private static final int[][] MOVES = {
+        {1, -2},
+        {2, -1},
+        {2, 1},
+        {1, 2},
+        {-1, 2},
+        {-2, 1},
+        {-2, -1},
+        {-1, -2},
+    };
+
+    // Check for cancellation once per this many moves
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final int rows;
+    private final int columns;
+    private final int squares;
+    private final int words;
+    // Per square: the squares a knight reaches, in move order, and how many there are
+    private final int[] targets;
+    private final int[] targetCount;
+    // Per square: the nonzero words of its move mask and their indices in the bitboard
+    private final long[] maskBits;
+    private final int[] maskWord;
+    private final int[] maskCount;
+    // Per square on boards of up to 64 squares: the whole move mask
+    private final long[] wordMask;
+
+    /**
+     * Creates an engine for the standard 8x8 board.
+     */
+    public KnightsTourBitboard() {
+        this(8, 8);
+    }
+
+    /**
+     * @param rows the number of rows of the board
+     * @param columns the number of columns of the board
+     * @throws IllegalArgumentException if {@code rows} or {@code columns} is less than one,
+     * or the board has more than {@link Integer#MAX_VALUE} / 8 squares
+     */
+    public KnightsTourBitboard(int rows, int columns) throws IllegalArgumentException {
+        if (rows < 1) {
+            throw new IllegalArgumentException("rows must be greater than zero");
+        }
+        if (columns < 1) {
+            throw new IllegalArgumentException("columns must be greater than zero");
+        }
+        if ((long) rows * columns > Integer.MAX_VALUE / MOVES.length) {
+            throw new IllegalArgumentException("board of " + rows + "x" + columns + " squares is too large");
+        }
+
+        this.rows = rows;
+        this.columns = columns;
+        this.squares = rows * columns;
+        this.words = (squares + 63) >>> 6;
+        this.targets = new int[squares * MOVES.length];
+        this.targetCount = new int[squares];
+        this.maskBits = new long[squares * MOVES.length];
+        this.maskWord = new int[squares * MOVES.length];
+        this.maskCount = new int[squares];
+        this.wordMask = squares <= 64 ? new long[squares] : null;
+        for (int s = 0; s < squares; s++) {
+            int row = s / columns;
+            int column = s % columns;
+            for (int[] m : MOVES) {
+                int r = row + m[1];
+                int c = column + m[0];
+                if (r < 0 || r >= rows || c < 0 || c >= columns) {
+                    continue;
+                }
+                int t = r * columns + c;
+                targets[s * MOVES.length + targetCount[s]++] = t;
+                addToMask(s, t);
+                if (wordMask != null) {
+                    wordMask[s] |= 1L << t;
+                }
+            }
+        }
+    }
+
+    private void addToMask(int s, int t) {
+        final int base = s * MOVES.length;
+        for (int k = 0; k < maskCount[s]; k++) {
+            if (maskWord[base + k] == t >>> 6) {
+                maskBits[base + k] |= 1L << t;
+                return;
+            }
+        }
+        maskWord[base + maskCount[s]] = t >>> 6;
+        maskBits[base + maskCount[s]++] = 1L << t;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Searches for a tour that starts on the given square.
+     *
+     * @param row the row of the start square
+     * @param column the column of the start square
+     * @return the board with the number of the move that reaches each square, from 1 for
+     * the start square, or {@code null} if there is no tour from the square
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     */
+    public int[][] solve(int row, int column) {
+        return solve(row, column, () -> false);
+    }
+
+    /**
+     * Searches for a tour that starts on the given square, until {@code cancelled}
+     * returns {@code true}. The search checks it every thousand or so moves.
+     *
+     * @return the board with the move numbers, or {@code null} if there is no tour from
+     * the square or the search was cancelled
+     * @throws IndexOutOfBoundsException if the square is not on the board
+     */
+    public int[][] solve(int row, int column, BooleanSupplier cancelled) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(column, columns);
+        int[] path = new int[squares];
+        int start = row * columns + column;
+        boolean found = wordMask != null ? searchWord(start, path, cancelled) : search(start, path, cancelled);
+        if (!found) {
+            return null;
+        }
+
+        int[][] board = new int[rows][columns];
+        for (int i = 0; i < squares; i++) {
+            board[path[i] / columns][path[i] % columns] = i + 1;
+        }
+        return board;
+    }
+
+    /**
+     * Fills {@code path} with the squares of a tour from {@code start}, in order.
+     *
+     * @return whether a tour was found
+     */
+    private boolean search(int start, int[] path, BooleanSupplier cancelled) {
+        final int n = squares;
+        final int fanout = MOVES.length;
+        final long[] free = new long[words];
+        for (int s = 0; s < n; s++) {
+            free[s >>> 6] |= 1L << s;
+        }
+        // Per level: the ordered candidates, how many there are and the next one to try
+        final int[] candidates = new int[n * fanout];
+        final int[] candidateCount = new int[n];
+        final int[] next = new int[n];
+
+        free[start >>> 6] &= ~(1L << start);
+        path[0] = start;
+        int depth = 0;
+        candidateCount[0] = order(start, free, candidates, 0, false);
+        int steps = 0;
+        while (depth + 1 < n) {
+            if (next[depth] == candidateCount[depth]) {
+                // Every move from this square failed: backtrack
+                if (depth == 0) {
+                    return false;
+                }
+                int s = path[depth--];
+                free[s >>> 6] |= 1L << s;
+                continue;
+            }
+            if (++steps == CHECK_INTERVAL) {
+                steps = 0;
+                if (cancelled.getAsBoolean()) {
+                    return false;
+                }
+            }
+
+            int t = candidates[depth * fanout + next[depth]++];
+            free[t >>> 6] &= ~(1L << t);
+            // t is move number depth + 2 of n; the orphan check finds the same degrees
+            // as the ordering, so both are done in one pass
+            int count = order(t, free, candidates, (depth + 1) * fanout, depth + 2 < n - 1);
+            if (count < 0) {
+                free[t >>> 6] |= 1L << t;
+                continue;
+            }
+            path[++depth] = t;
+            next[depth] = 0;
+            candidateCount[depth] = count;
+        }
+        return true;
+    }
+
+    /**
+     * Writes the free squares a knight reaches from {@code s} to
+     * {@code candidates[offset ..]}, fewest onward moves first and in move order among
+     * equals.
+     *
+     * @param pruneOrphans whether to give up if a candidate has no onward moves
+     * @return the number of candidates, or -1 if {@code pruneOrphans} is set and a
+     * candidate has no onward moves
+     */
+    private int order(int s, long[] free, int[] candidates, int offset, boolean pruneOrphans) {
+        // The degrees of the candidates, at most eight, packed four bits each in sorted order
+        long degrees = 0;
+        int count = 0;
+        final int base = s * MOVES.length;
+        for (int i = 0; i < targetCount[s]; i++) {
+            int t = targets[base + i];
+            if ((free[t >>> 6] & 1L << t) == 0) {
+                continue;
+            }
+            long degree = degree(t, free);
+            if (degree == 0 && pruneOrphans) {
+                return -1;
+            }
+            // Insertion sort: shift the candidates with a larger degree up by one
+            int j = count++;
+            while (j > 0 && (degrees >>> 4 * (j - 1) & 0xF) > degree) {
+                candidates[offset + j] = candidates[offset + j - 1];
+                j--;
+            }
+            long below = degrees & (1L << 4 * j) - 1;
+            long above = (degrees & -(1L << 4 * j)) << 4;
+            degrees = below | degree << 4 * j | above;
+            candidates[offset + j] = t;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of free squares a knight reaches from {@code s}.
+     */
+    private int degree(int s, long[] free) {
+        int degree = 0;
+        final int base = s * MOVES.length;
+        for (int k = base; k < base + maskCount[s]; k++) {
+            degree += Long.bitCount(maskBits[k] & free[maskWord[k]]);
+        }
+        return degree;
+    }
+
+    /**
+     * {@link #search} for boards of up to 64 squares, with the free squares in one word.
+     */
+    private boolean searchWord(int start, int[] path, BooleanSupplier cancelled) {
+        final int n = squares;
+        final int fanout = MOVES.length;
+        long free = n == 64 ? -1L : (1L << n) - 1;
+        final int[] candidates = new int[n * fanout];
+        final int[] candidateCount = new int[n];
+        final int[] next = new int[n];
+
+        free &= ~(1L << start);
+        path[0] = start;
+        int depth = 0;
+        candidateCount[0] = orderWord(start, free, candidates, 0, false);
+        int steps = 0;
+        while (depth + 1 < n) {
+            if (next[depth] == candidateCount[depth]) {
+                if (depth == 0) {
+                    return false;
+                }
+                free |= 1L << path[depth--];
+                continue;
+            }
+            if (++steps == CHECK_INTERVAL) {
+                steps = 0;
+                if (cancelled.getAsBoolean()) {
+                    return false;
+                }
+            }
+
+            int t = candidates[depth * fanout + next[depth]++];
+            long rest = free & ~(1L << t);
+            int count = orderWord(t, rest, candidates, (depth + 1) * fanout, depth + 2 < n - 1);
+            if (count < 0) {
+                continue;
+            }
+            free = rest;
+            path[++depth] = t;
+            next[depth] = 0;
+            candidateCount[depth] = count;
+        }
+        return true;
+    }
+
+    /**
+     * {@link #order} for boards of up to 64 squares.
+     */
+    private int orderWord(int s, long free, int[] candidates, int offset, boolean pruneOrphans) {
+        long degrees = 0;
+        int count = 0;
+        final int base = s * MOVES.length;
+        for (int i = 0; i < targetCount[s]; i++) {
+            int t = targets[base + i];
+            if ((free & 1L << t) == 0) {
+                continue;
+            }
+            long degree = Long.bitCount(wordMask[t] & free);
+            if (degree == 0 && pruneOrphans) {
+                return -1;
+            }
+            int j = count++;
+            while (j > 0 && (degrees >>> 4 * (j - 1) & 0xF) > degree) {
+                candidates[offset + j] = candidates[offset + j - 1];
+                j--;
+            }
+            long below = degrees & (1L << 4 * j) - 1;
+            long above = (degrees & -(1L << 4 * j)) << 4;
+            degrees = below | degree << 4 * j | above;
+            candidates[offset + j] = t;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,379 @@
+package com.thealgorithms.audiofilters;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Offline IIR filtering that uses every core, for large arrays and memory-mapped files.
+ * The filter is evaluated as a cascade of second-order sections, like
+ * {@link BiquadCascade}.
+ *
+ * <p>The filter is linear, so the output of a chunk is the sum of two parts: the
+ * response to the chunk's inputs starting from zero state, and the response to the true
+ * state at the start of the chunk with zero input. The work is done in three passes:
+ * <ol>
+ * <li>in parallel, every chunk is filtered from zero state, recording the state it ends
+ * in;</li>
+ * <li>sequentially, the true state is carried from chunk to chunk as a scan: the state
+ * at the end of a chunk is its zero-state end state plus the incoming state advanced
+ * over the chunk by a precomputed transition matrix, which costs {@code (2 * sections)^2}
+ * operations per chunk instead of work per sample;</li>
+ * <li>in parallel, every chunk adds the zero-input response to its incoming state.</li>
+ * </ol>
+ * The state used is the two delays of each transposed direct form II section. Unlike
+ * the history of a single high-order direct-form recursion, it stays well-conditioned,
+ * so splitting the signal costs almost no accuracy.
+ *
+ * <p>The result equals the sequential {@link BiquadCascade} output up to rounding,
+ * within about {@code 1e-13} times the peak output magnitude for typical stable designs.
+ * The first chunk of a call that starts from zero state matches bit for bit. Unstable
+ * filters are not supported.
+ *
+ * <p>Like the other filters, an instance carries its state from one call to the next,
+ * so consecutive calls filter consecutive parts of one signal. An instance must not be
+ * used by more than one thread at a time.
+ */
+public class ParallelIIRFilter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+
+    // Coefficients per section, normalised by a0: b0, b1, b2, a1, a2
+    private static final int STRIDE = 5;
+
+    // Mapped windows are kept well below the 2 GiB limit of a single mapping
+    private static final long MAP_WINDOW = 1L << 30;
+
+    private final int sections;
+    private final double[] coeffs;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    // Zero-input evolution of the state over one full chunk, row-major
+    private final double[] chunkTransition;
+    // s1, s2 of every section
+    private final double[] state;
+
+    /**
+     * Creates a filter from direct-form coefficients, factored into sections as by
+     * {@link BiquadCascade#fromDirectForm(double[], double[])}.
+     *
+     * @throws IllegalArgumentException if the coefficients cannot be factored
+     */
+    public ParallelIIRFilter(IIRCoefficients coefficients) throws IllegalArgumentException {
+        this(BiquadCascade.toSections(coefficients.coeffsA, coefficients.coeffsB));
+    }
+
+    /**
+     * Creates a filter from sections in the layout of
+     * {@link BiquadCascade#BiquadCascade(double[][])}, such as
+     * {@link FilterDesign#getSections()}, running on the common pool.
+     *
+     * @throws IllegalArgumentException if there are no sections or a section is malformed
+     */
+    public ParallelIIRFilter(double[][] sections) throws IllegalArgumentException {
+        this(sections, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param sections the sections, each as {@code {b0, b1, b2, a0, a1, a2}}
+     * @param pool the pool running the parallel passes
+     * @param chunkSize the number of samples per chunk
+     * @throws IllegalArgumentException if there are no sections, a section is malformed or
+     * {@code chunkSize} is less than one
+     */
+    public ParallelIIRFilter(double[][] sections, ForkJoinPool pool, int chunkSize) throws IllegalArgumentException {
+        if (sections.length < 1) {
+            throw new IllegalArgumentException("at least one section is required");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than zero");
+        }
+
+        this.sections = sections.length;
+        this.coeffs = new double[STRIDE * sections.length];
+        for (int s = 0; s < sections.length; s++) {
+            double[] section = sections[s];
+            if (section.length != 6) {
+                throw new IllegalArgumentException("section " + s + " must be of size 6, got " + section.length);
+            }
+            if (section[3] == 0.0) {
+                throw new IllegalArgumentException("a0 of section " + s + " must not be zero");
+            }
+            double a0 = section[3];
+            int c = STRIDE * s;
+            coeffs[c] = section[0] / a0;
+            coeffs[c + 1] = section[1] / a0;
+            coeffs[c + 2] = section[2] / a0;
+            coeffs[c + 3] = section[4] / a0;
+            coeffs[c + 4] = section[5] / a0;
+        }
+
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.chunkSize = chunkSize;
+        this.state = new double[2 * sections.length];
+        this.chunkTransition = chunkTransition();
+    }
+
+    public int sectionCount() {
+        return sections;
+    }
+
+    /**
+     * Clears the state, as if no samples had been processed.
+     */
+    public void reset() {
+        Arrays.fill(state, 0.0);
+    }
+
+    /**
+     * Filters {@code len} samples of {@code in} starting at {@code inOff} into
+     * {@code out} starting at {@code outOff}. The ranges must not overlap unless they are
+     * identical.
+     *
+     * @throws IndexOutOfBoundsException if either range lies outside its array
+     */
+    public void process(double[] in, int inOff, double[] out, int outOff, int len) {
+        Objects.checkFromIndexSize(inOff, len, in.length);
+        Objects.checkFromIndexSize(outOff, len, out.length);
+        process(DoubleBuffer.wrap(in, inOff, len), DoubleBuffer.wrap(out, outOff, len));
+    }
+
+    /**
+     * Filters all samples remaining in {@code src} into {@code dst}, advancing both
+     * positions. Either buffer may be a view of a mapped file. The buffers must not
+     * overlap unless they cover the same memory.
+     *
+     * @throws IllegalArgumentException if {@code dst} has less room than {@code src}
+     * holds samples
+     */
+    public void process(DoubleBuffer src, DoubleBuffer dst) throws IllegalArgumentException {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new IllegalArgumentException("dst has room for " + dst.remaining() + " samples, need " + len);
+        }
+        if (len == 0) {
+            return;
+        }
+
+        int chunks = (len + chunkSize - 1) / chunkSize;
+        Pass pass = new Pass(src, src.position(), dst, dst.position(), len, chunks);
+
+        pass.zeroState = true;
+        pool.invoke(new ChunkTask(pass, 0, chunks));
+
+        // Scan the true state from chunk to chunk
+        final int n = 2 * sections;
+        pass.incoming[0] = state.clone();
+        for (int c = 1; c < chunks; c++) {
+            double[] previous = pass.incoming[c - 1];
+            double[] end = pass.zeroStateEnd[c - 1];
+            double[] next = new double[n];
+            for (int j = 0; j < n; j++) {
+                double sum = end[j];
+                for (int k = 0; k < n; k++) {
+                    sum += chunkTransition[j * n + k] * previous[k];
+                }
+                next[j] = sum;
+            }
+            pass.incoming[c] = next;
+        }
+
+        pass.zeroState = false;
+        pool.invoke(new ChunkTask(pass, 0, chunks));
+
+        double[] end = pass.zeroStateEnd[chunks - 1];
+        double[] decay = pass.zeroInputEnd;
+        for (int j = 0; j < n; j++) {
+            state[j] = end[j] + decay[j];
+        }
+
+        src.position(src.position() + len);
+        dst.position(dst.position() + len);
+    }
+
+    /**
+     * Filters a file of raw {@code double} samples in the given byte order into a new
+     * file, mapping both in windows of at most 1 GiB. The filter state carries over from
+     * window to window.
+     *
+     * @return the number of samples filtered
+     * @throws IOException if reading or writing fails
+     */
+    public long process(Path source, Path target, ByteOrder byteOrder) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size() - in.size() % Double.BYTES;
+            for (long start = 0; start < size; start += MAP_WINDOW) {
+                long length = Math.min(MAP_WINDOW, size - start);
+                DoubleBuffer src = in.map(FileChannel.MapMode.READ_ONLY, start, length).order(byteOrder).asDoubleBuffer();
+                DoubleBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, start, length).order(byteOrder).asDoubleBuffer();
+                process(src, dst);
+            }
+            return size / Double.BYTES;
+        }
+    }
+
+    /**
+     * First pass over one chunk: the cascade run one section at a time from zero state,
+     * with the same arithmetic as a {@link BiquadCascade} block.
+     */
+    private void filterFromZeroState(Pass pass, int chunk, int start, int end) {
+        double[] endState = new double[2 * sections];
+        DoubleBuffer from = pass.src;
+        int fromOff = pass.srcOff;
+        for (int s = 0; s < sections; s++) {
+            int c = STRIDE * s;
+            final double b0 = coeffs[c];
+            final double b1 = coeffs[c + 1];
+            final double b2 = coeffs[c + 2];
+            final double a1 = coeffs[c + 3];
+            final double a2 = coeffs[c + 4];
+            double s1 = 0.0;
+            double s2 = 0.0;
+
+            for (int k = start; k < end; k++) {
+                double x = from.get(fromOff + k);
+                double y = b0 * x + s1;
+                s1 = b1 * x - a1 * y + s2;
+                s2 = b2 * x - a2 * y;
+                pass.dst.put(pass.dstOff + k, y);
+            }
+
+            endState[2 * s] = s1;
+            endState[2 * s + 1] = s2;
+
+            // Later sections work on the output of the previous one in place
+            from = pass.dst;
+            fromOff = pass.dstOff;
+        }
+        pass.zeroStateEnd[chunk] = endState;
+    }
+
+    /**
+     * Last pass over one chunk: adds the zero-input response to the chunk's incoming
+     * state.
+     */
+    private void addZeroInputResponse(Pass pass, int chunk, int start, int end) {
+        double[] z = pass.incoming[chunk].clone();
+        boolean silent = true;
+        for (double v : z) {
+            silent &= v == 0.0;
+        }
+        if (!silent) {
+            for (int k = start; k < end; k++) {
+                int index = pass.dstOff + k;
+                pass.dst.put(index, pass.dst.get(index) + decay(z));
+            }
+        }
+        if (chunk == pass.chunks - 1) {
+            pass.zeroInputEnd = z;
+        }
+    }
+
+    /**
+     * Advances the state {@code z} by one sample of zero input and returns the output.
+     */
+    private double decay(double[] z) {
+        double x = 0.0;
+        for (int s = 0; s < sections; s++) {
+            int c = STRIDE * s;
+            double y = coeffs[c] * x + z[2 * s];
+            z[2 * s] = coeffs[c + 1] * x - coeffs[c + 3] * y + z[2 * s + 1];
+            z[2 * s + 1] = coeffs[c + 2] * x - coeffs[c + 4] * y;
+            x = y;
+        }
+        return x;
+    }
+
+    /**
+     * Returns the row-major matrix advancing the state over one full chunk with zero
+     * input. Column {@code k} is found by running the cascade from the unit state
+     * {@code e_k}.
+     */
+    private double[] chunkTransition() {
+        final int n = 2 * sections;
+        double[] m = new double[n * n];
+        for (int k = 0; k < n; k++) {
+            double[] z = new double[n];
+            z[k] = 1.0;
+            for (int t = 0; t < chunkSize; t++) {
+                decay(z);
+            }
+            for (int j = 0; j < n; j++) {
+                m[j * n + k] = z[j];
+            }
+        }
+        return m;
+    }
+
+    /**
+     * The buffers and intermediate results of one call.
+     */
+    private static final class Pass {
+
+        final DoubleBuffer src;
+        final int srcOff;
+        final DoubleBuffer dst;
+        final int dstOff;
+        final int len;
+        final int chunks;
+        boolean zeroState;
+        // Per chunk: the state reached from zero state, and the true incoming state
+        final double[][] zeroStateEnd;
+        final double[][] incoming;
+        // The state the zero-input response of the last chunk ends in
+        double[] zeroInputEnd;
+
+        Pass(DoubleBuffer src, int srcOff, DoubleBuffer dst, int dstOff, int len, int chunks) {
+            this.src = src;
+            this.srcOff = srcOff;
+            this.dst = dst;
+            this.dstOff = dstOff;
+            this.len = len;
+            this.chunks = chunks;
+            this.zeroStateEnd = new double[chunks][];
+            this.incoming = new double[chunks][];
+        }
+    }
+
+    /**
+     * Runs one of the parallel passes over the chunks {@code from .. to - 1}.
+     */
+    private final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Pass pass;
+        private final int from;
+        private final int to;
+
+        ChunkTask(Pass pass, int from, int to) {
+            this.pass = pass;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(pass, from, mid), new ChunkTask(pass, mid, to));
+                return;
+            }
+            int start = from * chunkSize;
+            int end = Math.min(pass.len, start + chunkSize);
+            if (pass.zeroState) {
+                filterFromZeroState(pass, from, start, end);
+            } else {
+                addZeroInputResponse(pass, from, start, end);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.thealgorithms.backtracking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Enumerates all simple paths between two vertices of a {@link CsrGraph} on a
+ * {@link ForkJoinPool}. The search splits at branching vertices near the top of the
+ * search tree: every out-edge becomes a task with its own copy of the path prefix, which
+ * is only as long as the prefix, and idle workers steal these tasks. A task splits only
+ * while the pool is short of queued work, and runs the sequential {@link PathSearch}
+ * below that, in path and visited-set buffers of its own.
+ *
+ * <p>{@link #allPaths(int, int)} returns the paths in exactly the order of the sequential
+ * search, because each task collects its own paths and a parent concatenates its
+ * children's results in edge order. {@link #forEachPath(int, int, PathSearch.Visitor)}
+ * skips that bookkeeping and hands paths to a thread-safe visitor as they are found, in
+ * no particular order. Once the visitor asks to stop, every running task stops within a
+ * few thousand search steps.
+ */
+public class ParallelPathSearch {
+
+    /** The default depth of the search tree below which tasks no longer split. */
+    public static final int DEFAULT_MAX_SPLIT_DEPTH = 16;
+
+    // Split while the pool has at most this many surplus queued tasks
+    private static final int SURPLUS = 2;
+
+    private final CsrGraph graph;
+    // Supplies the reachability sets used for pruning
+    private final PathSearch sequential;
+    private final ForkJoinPool pool;
+    private final int maxSplitDepth;
+
+    public ParallelPathSearch(CsrGraph graph) {
+        this(graph, ForkJoinPool.commonPool(), DEFAULT_MAX_SPLIT_DEPTH);
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param pool the pool running the search
+     * @param maxSplitDepth the path length up to which tasks may split
+     * @throws IllegalArgumentException if {@code maxSplitDepth} is less than one
+     */
+    public ParallelPathSearch(CsrGraph graph, ForkJoinPool pool, int maxSplitDepth) throws IllegalArgumentException {
+        if (maxSplitDepth < 1) {
+            throw new IllegalArgumentException("maxSplitDepth must be greater than zero");
+        }
+        this.graph = Objects.requireNonNull(graph, "graph");
+        this.sequential = new PathSearch(graph);
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.maxSplitDepth = maxSplitDepth;
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns every simple path from {@code source} to {@code target}, in the same order
+     * as the sequential {@link PathSearch#allPaths(int, int)}.
+     *
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public List<List<Integer>> allPaths(int source, int target) {
+        Search search = new Search(target, null);
+        List<List<Integer>> paths = new ArrayList<>();
+        search.run(source, paths);
+        return paths;
+    }
+
+    /**
+     * Passes every simple path from {@code source} to {@code target} to {@code visitor}
+     * from the pool's worker threads, concurrently and in no particular order, until the
+     * visitor returns {@code false}. After that, paths already being reported on other
+     * threads may still arrive.
+     *
+     * @param visitor the visitor; must be thread-safe
+     * @return the number of paths passed to the visitor
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public long forEachPath(int source, int target, PathSearch.Visitor visitor) {
+        Search search = new Search(target, Objects.requireNonNull(visitor, "visitor"));
+        return search.run(source, null);
+    }
+
+    /**
+     * The state shared by the tasks of one search.
+     */
+    private final class Search {
+
+        final int target;
+        final long[] reach;
+        // Null when collecting in order
+        final PathSearch.Visitor visitor;
+        // Cancelled once the visitor asks to stop; leaf searches poll it through their runs
+        final PathQuery.CancellationToken stop = new PathQuery.CancellationToken();
+        final PathQuery query = PathQuery.unbounded().withCancellation(stop);
+        // The paths passed to the visitor or collected
+        final LongAdder passed = new LongAdder();
+
+        Search(int target, PathSearch.Visitor visitor) {
+            this.target = Objects.checkIndex(target, graph.vertexCount());
+            this.visitor = visitor;
+            this.reach = sequential.canReach(target);
+        }
+
+        long run(int source, List<List<Integer>> paths) {
+            final int n = graph.vertexCount();
+            Objects.checkIndex(source, n);
+
+            int[] prefix = {source};
+            if (source == target) {
+                report(prefix, 1, paths);
+                return passed.sum();
+            }
+
+            if ((reach[source >>> 6] & 1L << source) == 0) {
+                return 0;
+            }
+            PathTask root = new PathTask(this, prefix);
+            pool.invoke(root);
+            if (paths != null) {
+                paths.addAll(root.paths);
+            }
+            return passed.sum();
+        }
+
+        /**
+         * Passes one path to the visitor, or adds a copy of it to {@code paths} when
+         * collecting in order. Only paths actually passed on are counted.
+         *
+         * @return whether the search should go on
+         */
+        boolean report(int[] path, int length, List<List<Integer>> paths) {
+            if (visitor == null) {
+                List<Integer> list = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    list.add(path[i]);
+                }
+                paths.add(list);
+                passed.increment();
+                return true;
+            }
+            if (stop.isCancelled()) {
+                return false;
+            }
+            passed.increment();
+            if (!visitor.visit(path, length)) {
+                stop.cancel();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Searches below one path prefix. When collecting in order, the paths are left in
+     * {@link #paths}. A task whose prefix ends at the target is never run; it only
+     * carries that one path.
+     */
+    private final class PathTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Search search;
+        // Exactly the vertices of the prefix
+        private final int[] prefix;
+        transient List<List<Integer>> paths;
+
+        PathTask(Search search, int[] prefix) {
+            this.search = search;
+            this.prefix = prefix;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.visitor == null) {
+                paths = new ArrayList<>();
+            }
+            if (search.stop.isCancelled()) {
+                return;
+            }
+
+            final int depth = prefix.length;
+            int u = prefix[depth - 1];
+            boolean split = depth <= maxSplitDepth && graph.outDegree(u) > 1 && getSurplusQueuedTaskCount() <= SURPLUS;
+            if (!split) {
+                final int n = graph.vertexCount();
+                int[] path = Arrays.copyOf(prefix, n);
+                long[] onPath = new long[(n + 63) >>> 6];
+                for (int v : prefix) {
+                    onPath[v >>> 6] |= 1L << v;
+                }
+                // Only a visitor can stop the search, so collecting needs no run
+                PathQuery.Run run = search.visitor == null ? null : search.query.start();
+                PathSearch.search(graph, path, depth, onPath, search.reach, search.target, Integer.MAX_VALUE, run, (p, length) -> search.report(p, length, paths));
+                return;
+            }
+
+            // One part per out-edge in order: a child task, or a path ending at the target
+            List<PathTask> parts = new ArrayList<>();
+            List<PathTask> children = new ArrayList<>();
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int w = graph.target(e);
+                if ((search.reach[w >>> 6] & 1L << w) == 0 || contains(prefix, w)) {
+                    continue;
+                }
+                int[] childPrefix = Arrays.copyOf(prefix, depth + 1);
+                childPrefix[depth] = w;
+                PathTask child = new PathTask(search, childPrefix);
+                if (w == search.target) {
+                    if (search.visitor == null) {
+                        child.paths = new ArrayList<>(1);
+                        search.report(childPrefix, depth + 1, child.paths);
+                        parts.add(child);
+                    } else if (!search.report(childPrefix, depth + 1, null)) {
+                        return;
+                    }
+                    continue;
+                }
+                children.add(child);
+                parts.add(child);
+            }
+
+            invokeAll(children);
+            if (paths != null) {
+                for (PathTask part : parts) {
+                    paths.addAll(part.paths);
+                }
+            }
+        }
+
+        /**
+         * Returns whether {@code prefix} contains {@code v}; prefixes that split are at
+         * most {@code maxSplitDepth} long.
+         */
+        private boolean contains(int[] prefix, int v) {
+            for (int vertex : prefix) {
+                if (vertex == v) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
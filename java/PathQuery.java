@@ -0,0 +1,188 @@
+package com.thealgorithms.backtracking;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Immutable limits for a path search: the maximum number of paths, the maximum path
+ * length, a timeout and a cancellation token. The search also stops when its thread is
+ * interrupted. A search that stops early returns the paths found so far together with
+ * the reason, see {@link PathQueryResult}.
+ *
+ * <pre>{@code
+ * PathQuery query = PathQuery.unbounded().withMaxPaths(10_000).withTimeout(Duration.ofMillis(50));
+ * PathQueryResult result = search.query(source, target, query);
+ * }</pre>
+ */
+public final class PathQuery {
+
+    /**
+     * Cancels the searches it is passed to, from any thread.
+     */
+    public static final class CancellationToken {
+
+        private volatile boolean cancelled;
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final PathQuery UNBOUNDED = new PathQuery(Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+    private final long maxPaths;
+    private final int maxLength;
+    private final long timeoutNanos;
+    private final CancellationToken token;
+
+    private PathQuery(long maxPaths, int maxLength, long timeoutNanos, CancellationToken token) {
+        this.maxPaths = maxPaths;
+        this.maxLength = maxLength;
+        this.timeoutNanos = timeoutNanos;
+        this.token = token;
+    }
+
+    /**
+     * Returns the query without limits, which still stops on interruption.
+     */
+    public static PathQuery unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Returns a copy that stops after {@code maxPaths} paths.
+     *
+     * @throws IllegalArgumentException if {@code maxPaths} is negative
+     */
+    public PathQuery withMaxPaths(long maxPaths) throws IllegalArgumentException {
+        if (maxPaths < 0) {
+            throw new IllegalArgumentException("maxPaths must not be negative");
+        }
+        return new PathQuery(maxPaths, maxLength, timeoutNanos, token);
+    }
+
+    /**
+     * Returns a copy that only finds paths of at most {@code maxLength} edges.
+     *
+     * @throws IllegalArgumentException if {@code maxLength} is negative
+     */
+    public PathQuery withMaxLength(int maxLength) throws IllegalArgumentException {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength must not be negative");
+        }
+        return new PathQuery(maxPaths, maxLength, timeoutNanos, token);
+    }
+
+    /**
+     * Returns a copy that stops once {@code timeout} has passed since the search started.
+     *
+     * @throws IllegalArgumentException if {@code timeout} is negative
+     */
+    public PathQuery withTimeout(Duration timeout) throws IllegalArgumentException {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("timeout must not be negative");
+        }
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            nanos = Long.MAX_VALUE;
+        }
+        return new PathQuery(maxPaths, maxLength, nanos, token);
+    }
+
+    /**
+     * Returns a copy that stops once {@code token} is cancelled.
+     */
+    public PathQuery withCancellation(CancellationToken token) {
+        return new PathQuery(maxPaths, maxLength, timeoutNanos, Objects.requireNonNull(token, "token"));
+    }
+
+    public long getMaxPaths() {
+        return maxPaths;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the timeout in nanoseconds, {@link Long#MAX_VALUE} if there is none.
+     */
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return token;
+    }
+
+    @Override
+    public String toString() {
+        return "PathQuery{maxPaths=" + maxPaths + ", maxLength=" + maxLength + ", timeoutNanos=" + timeoutNanos + ", cancellable=" + (token != null) + "}";
+    }
+
+    /**
+     * Starts the clock of one search.
+     */
+    Run start() {
+        return new Run(this);
+    }
+
+    /**
+     * The mutable state of one search under a query: its deadline and why it stopped.
+     */
+    static final class Run {
+
+        // Check the clock and the token once per this many search steps
+        private static final int CHECK_INTERVAL = 1024;
+
+        final PathQuery query;
+        private final long start;
+        private int steps;
+        PathQueryResult.StopReason stopReason = PathQueryResult.StopReason.COMPLETED;
+
+        private Run(PathQuery query) {
+            this.query = query;
+            this.start = System.nanoTime();
+        }
+
+        long elapsedNanos() {
+            return System.nanoTime() - start;
+        }
+
+        /**
+         * Called once per search step; returns {@code false} once the search must stop.
+         */
+        boolean proceed() {
+            if (++steps < CHECK_INTERVAL) {
+                return true;
+            }
+            steps = 0;
+            return poll();
+        }
+
+        /**
+         * Checks cancellation, interruption and the deadline now.
+         */
+        boolean poll() {
+            if (query.token != null && query.token.isCancelled()) {
+                stopReason = PathQueryResult.StopReason.CANCELLED;
+                return false;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                stopReason = PathQueryResult.StopReason.INTERRUPTED;
+                return false;
+            }
+            if (query.timeoutNanos != Long.MAX_VALUE && System.nanoTime() - start >= query.timeoutNanos) {
+                stopReason = PathQueryResult.StopReason.DEADLINE;
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.thealgorithms.backtracking;
+
+/**
+ * The outcome of a path search under a {@link PathQuery}: the paths found, in search
+ * order, and why the search ended. A search that stopped early still returns every path
+ * it found up to that point.
+ */
+public final class PathQueryResult {
+
+    public enum StopReason {
+        /** The search space was exhausted; the result holds every path within the limits. */
+        COMPLETED,
+        /** More paths exist than the query's maximum. */
+        MAX_PATHS,
+        /** The query's timeout passed. */
+        DEADLINE,
+        /** The query's cancellation token was cancelled. */
+        CANCELLED,
+        /** The searching thread was interrupted; its interrupt status is left set. */
+        INTERRUPTED
+    }
+
+    private final CompactPathSet paths;
+    private final StopReason stopReason;
+    private final long elapsedNanos;
+
+    PathQueryResult(CompactPathSet paths, StopReason stopReason, long elapsedNanos) {
+        this.paths = paths;
+        this.stopReason = stopReason;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public CompactPathSet getPaths() {
+        return paths;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Returns whether the search ran to completion, so that the paths are all paths
+     * within the query's length limit.
+     */
+    public boolean isComplete() {
+        return stopReason == StopReason.COMPLETED;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "PathQueryResult{paths=" + paths.size() + ", stopReason=" + stopReason + ", elapsedNanos=" + elapsedNanos + "}";
+    }
+}
@@ -0,0 +1,274 @@
+package com.thealgorithms.backtracking;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers many path queries concurrently against a published graph. The service holds an
+ * immutable snapshot of the current graph and its version, and every query runs against
+ * the snapshot that was current when it was submitted. Publishing a new graph replaces the
+ * snapshot without disturbing queries already running on the old one.
+ *
+ * <p>Results are cached in a size-bounded, least recently used cache keyed by graph
+ * version, source, target and the query's path and length limits. Concurrent
+ * submissions of the same query without a timeout or cancellation token share one
+ * search. Only results that do not depend on timing are kept: searches that complete or
+ * stop at the maximum number of paths. The reachability sets used for pruning are cached
+ * per snapshot in a second cache of the same capacity. Publishing a graph drops both
+ * caches, as their entries can no longer be hit.
+ *
+ * <p>By default queries run on virtual threads when the runtime has them, and on a fixed
+ * pool with one thread per processor otherwise.
+ */
+public class PathQueryService implements AutoCloseable {
+
+    private final int capacity;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<Key, CompletableFuture<PathQueryResult>> cache;
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param graph the initial graph, published as version 1
+     * @param capacity the maximum number of results and of reachability sets cached
+     * @throws IllegalArgumentException if {@code capacity} is less than one
+     */
+    public PathQueryService(CsrGraph graph, int capacity) throws IllegalArgumentException {
+        this(graph, capacity, defaultExecutor(), true);
+    }
+
+    /**
+     * @param graph the initial graph, published as version 1
+     * @param capacity the maximum number of results and of reachability sets cached
+     * @param executor the executor running the queries; not shut down by {@link #close()}
+     * @throws IllegalArgumentException if {@code capacity} is less than one
+     */
+    public PathQueryService(CsrGraph graph, int capacity, ExecutorService executor) throws IllegalArgumentException {
+        this(graph, capacity, Objects.requireNonNull(executor, "executor"), false);
+    }
+
+    private PathQueryService(CsrGraph graph, int capacity, ExecutorService executor, boolean ownsExecutor) throws IllegalArgumentException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+
+        this.capacity = capacity;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<PathQueryResult>> eldest) {
+                return size() > PathQueryService.this.capacity;
+            }
+        };
+        publish(graph);
+    }
+
+    /**
+     * Makes {@code graph} the graph of every query submitted from now on and drops the
+     * cached results of earlier versions.
+     *
+     * @return the new graph version
+     */
+    public long publish(CsrGraph graph) {
+        Map<Integer, long[]> reachCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, long[]> eldest) {
+                return size() > capacity;
+            }
+        });
+        long version;
+        synchronized (cache) {
+            version = versions.incrementAndGet();
+            snapshot = new Snapshot(version, new PathSearch(graph, reachCache));
+            cache.clear();
+        }
+        return version;
+    }
+
+    /**
+     * Returns the version of the current graph.
+     */
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    public CsrGraph getGraph() {
+        return snapshot.search.getGraph();
+    }
+
+    /**
+     * Returns the number of cached results, including searches still running.
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Finds every simple path from {@code source} to {@code target} in the current graph.
+     *
+     * @see #submit(int, int, PathQuery)
+     */
+    public CompletableFuture<PathQueryResult> submit(int source, int target) {
+        return submit(source, target, PathQuery.unbounded());
+    }
+
+    /**
+     * Searches the current graph for the paths from {@code source} to {@code target}
+     * within the limits of {@code query}. The query's timeout counts from the start of the
+     * search, not from submission. A cached result is returned as it was first computed,
+     * including its elapsed time.
+     *
+     * @return the result; completes exceptionally with an
+     * {@link IndexOutOfBoundsException} if a vertex is not in the graph, or with a
+     * {@link RejectedExecutionException} if the executor does not accept the search
+     */
+    public CompletableFuture<PathQueryResult> submit(int source, int target, PathQuery query) {
+        Objects.requireNonNull(query, "query");
+        Snapshot current = snapshot;
+        Key key = new Key(current.version, source, target, query.getMaxPaths(), query.getMaxLength());
+        // A search with a timeout or a token may stop early, so other callers must not
+        // wait on it; it is cached only once it has a reusable result. Such a search in
+        // turn only takes finished results, as waiting on a running one would ignore its
+        // own deadline and token.
+        boolean shared = query.getTimeoutNanos() == Long.MAX_VALUE && query.getCancellationToken() == null;
+        CompletableFuture<PathQueryResult> future = new CompletableFuture<>();
+        synchronized (cache) {
+            CompletableFuture<PathQueryResult> cached = cache.get(key);
+            if (cached != null && (shared || cached.isDone())) {
+                return cached;
+            }
+            if (shared && current == snapshot) {
+                cache.put(key, future);
+            }
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    PathQueryResult found = current.search.query(source, target, query);
+                    if (!isReusable(found)) {
+                        evict(key, future);
+                        future.complete(found);
+                    } else {
+                        future.complete(found);
+                        if (!shared) {
+                            store(key, future);
+                        }
+                    }
+                } catch (RuntimeException | Error e) {
+                    evict(key, future);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Otherwise the cached future would never complete
+            evict(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Shuts down the default executor, letting running queries finish. An executor passed
+     * to the constructor is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean isReusable(PathQueryResult result) {
+        return result.getStopReason() == PathQueryResult.StopReason.COMPLETED || result.getStopReason() == PathQueryResult.StopReason.MAX_PATHS;
+    }
+
+    private void store(Key key, CompletableFuture<PathQueryResult> future) {
+        synchronized (cache) {
+            // Results of a replaced graph could never be hit
+            if (key.version == snapshot.version) {
+                cache.putIfAbsent(key, future);
+            }
+        }
+    }
+
+    private void evict(Key key, CompletableFuture<PathQueryResult> future) {
+        synchronized (cache) {
+            cache.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns a virtual-thread-per-task executor if the runtime supports it, otherwise a
+     * pool with one thread per processor.
+     */
+    private static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "path-query");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static final class Snapshot {
+
+        final long version;
+        final PathSearch search;
+
+        Snapshot(long version, PathSearch search) {
+            this.version = version;
+            this.search = search;
+        }
+    }
+
+    private static final class Key {
+
+        private final long version;
+        private final int source;
+        private final int target;
+        private final long maxPaths;
+        private final int maxLength;
+
+        Key(long version, int source, int target, long maxPaths, int maxLength) {
+            this.version = version;
+            this.source = source;
+            this.target = target;
+            this.maxPaths = maxPaths;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return version == that.version && source == that.source && target == that.target && maxPaths == that.maxPaths && maxLength == that.maxLength;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(version);
+            h = 31 * h + source;
+            h = 31 * h + target;
+            h = 31 * h + Long.hashCode(maxPaths);
+            return 31 * h + maxLength;
+        }
+    }
+}
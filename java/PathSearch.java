@@ -0,0 +1,365 @@
+package com.thealgorithms.backtracking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enumerates all simple paths between two vertices of a {@link CsrGraph} by depth-first
+ * search with an explicit stack. The search state is a primitive {@code int[]} path, a
+ * per-depth edge cursor and a {@code long[]} bitset of the vertices on the path, so a
+ * step is a few array reads and no objects are created per path.
+ *
+ * <p>Before the first search towards a target, a breadth-first search over the reversed
+ * graph finds the vertices that can reach it. The result is cached per target, and the
+ * search never enters a vertex outside it, since no path to the target continues from
+ * there.
+ *
+ * <p>Paths are found in the same order as {@link AllPathsFromSourceToTarget} finds them.
+ * A search allocates its own state and the caches are thread-safe, so one instance may
+ * run searches on several threads at once.
+ */
+public class PathSearch {
+
+    /**
+     * Receives each path as it is found.
+     */
+    public interface Visitor {
+
+        /**
+         * Called once per path.
+         *
+         * @param path the vertices of the path from source to target in
+         * {@code path[0 .. length - 1]}; the array is reused for the next path and must
+         * not be modified or kept
+         * @param length the number of vertices on the path
+         * @return {@code true} to continue the search, {@code false} to stop it
+         */
+        boolean visit(int[] path, int length);
+    }
+
+    private final CsrGraph graph;
+    // Built on first use
+    private volatile CsrGraph reverse;
+    // Per target, the bitset of vertices from which it can be reached
+    private final Map<Integer, long[]> reachCache;
+
+    public PathSearch(CsrGraph graph) {
+        this(graph, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param graph the graph to search
+     * @param reachCache the cache of reachability sets; must be thread-safe, and may
+     * evict entries
+     */
+    PathSearch(CsrGraph graph, Map<Integer, long[]> reachCache) {
+        this.graph = Objects.requireNonNull(graph, "graph");
+        this.reachCache = Objects.requireNonNull(reachCache, "reachCache");
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Passes every simple path from {@code source} to {@code target} to {@code visitor},
+     * until the visitor returns {@code false}.
+     *
+     * @return the number of paths passed to the visitor
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public long forEachPath(int source, int target, Visitor visitor) {
+        final int n = graph.vertexCount();
+        Objects.checkIndex(source, n);
+        Objects.checkIndex(target, n);
+
+        final int[] path = new int[n];
+        if (source == target) {
+            path[0] = source;
+            visitor.visit(path, 1);
+            return 1;
+        }
+
+        final long[] reach = canReach(target);
+        if ((reach[source >>> 6] & 1L << source) == 0) {
+            return 0;
+        }
+        final long[] onPath = new long[(n + 63) >>> 6];
+        path[0] = source;
+        onPath[source >>> 6] |= 1L << source;
+        return search(graph, path, 1, onPath, reach, target, Integer.MAX_VALUE, null, visitor);
+    }
+
+    /**
+     * Collects the simple paths from {@code source} to {@code target} within the
+     * query's limits. The search checks for cancellation, interruption and its deadline
+     * every thousand or so steps, and stops early with the paths found so far if any of
+     * them applies or more than the maximum number of paths exist.
+     *
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public PathQueryResult query(int source, int target, PathQuery query) {
+        final int n = graph.vertexCount();
+        Objects.checkIndex(source, n);
+        Objects.checkIndex(target, n);
+
+        final PathQuery.Run run = query.start();
+        final CompactPathSet.Builder builder = new CompactPathSet.Builder();
+        final long maxPaths = query.getMaxPaths();
+        Visitor collect = (path, length) -> {
+            if (builder.size() >= maxPaths) {
+                run.stopReason = PathQueryResult.StopReason.MAX_PATHS;
+                return false;
+            }
+            builder.add(path, length);
+            return true;
+        };
+
+        if (run.poll()) {
+            final int[] path = new int[n];
+            path[0] = source;
+            if (source == target) {
+                collect.visit(path, 1);
+            } else {
+                final long[] reach = canReach(target);
+                if ((reach[source >>> 6] & 1L << source) != 0) {
+                    final long[] onPath = new long[(n + 63) >>> 6];
+                    onPath[source >>> 6] |= 1L << source;
+                    search(graph, path, 1, onPath, reach, target, query.getMaxLength(), run, collect);
+                }
+            }
+        }
+        return new PathQueryResult(builder.build(), run.stopReason, run.elapsedNanos());
+    }
+
+    /**
+     * Returns the number of simple paths from {@code source} to {@code target} without
+     * producing them. If the part of the graph that lies on some path from
+     * {@code source} to {@code target} is acyclic, the paths are counted by dynamic
+     * programming over a topological order, in time linear in the size of the graph.
+     * Otherwise they are counted by the pruned depth-first search, which takes time
+     * proportional to the number of paths.
+     *
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     * @throws ArithmeticException if the count exceeds {@link Long#MAX_VALUE}
+     */
+    public long countPaths(int source, int target) {
+        final int n = graph.vertexCount();
+        Objects.checkIndex(source, n);
+        Objects.checkIndex(target, n);
+        if (source == target) {
+            return 1;
+        }
+        final long[] reach = canReach(target);
+        if ((reach[source >>> 6] & 1L << source) == 0) {
+            return 0;
+        }
+
+        // The relevant vertices: reachable from source and able to reach target. The
+        // target is never left, so its out-edges do not count.
+        final long[] relevant = new long[(n + 63) >>> 6];
+        final int[] queue = new int[n];
+        int tail = 0;
+        queue[tail++] = source;
+        relevant[source >>> 6] |= 1L << source;
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            if (u == target) {
+                continue;
+            }
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int w = graph.target(e);
+                if ((reach[w >>> 6] & 1L << w) != 0 && (relevant[w >>> 6] & 1L << w) == 0) {
+                    relevant[w >>> 6] |= 1L << w;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        final int size = tail;
+
+        // Kahn's algorithm on the relevant subgraph; leftover vertices mean a cycle
+        final int[] inDegree = new int[n];
+        for (int i = 0; i < size; i++) {
+            int u = queue[i];
+            if (u == target) {
+                continue;
+            }
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int w = graph.target(e);
+                if ((relevant[w >>> 6] & 1L << w) != 0) {
+                    inDegree[w]++;
+                }
+            }
+        }
+        final int[] order = new int[size];
+        int ordered = 0;
+        for (int i = 0; i < size; i++) {
+            if (inDegree[queue[i]] == 0) {
+                order[ordered++] = queue[i];
+            }
+        }
+        for (int i = 0; i < ordered; i++) {
+            int u = order[i];
+            if (u == target) {
+                continue;
+            }
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int w = graph.target(e);
+                if ((relevant[w >>> 6] & 1L << w) != 0 && --inDegree[w] == 0) {
+                    order[ordered++] = w;
+                }
+            }
+        }
+        if (ordered < size) {
+            return forEachPath(source, target, (path, length) -> true);
+        }
+
+        // Paths from each vertex to the target, in reverse topological order
+        final long[] paths = new long[n];
+        paths[target] = 1;
+        for (int i = size - 1; i >= 0; i--) {
+            int u = order[i];
+            if (u == target) {
+                continue;
+            }
+            long sum = 0;
+            for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                int w = graph.target(e);
+                if ((relevant[w >>> 6] & 1L << w) != 0) {
+                    sum = Math.addExact(sum, paths[w]);
+                }
+            }
+            paths[u] = sum;
+        }
+        return paths[source];
+    }
+
+    /**
+     * Returns the bitset of vertices from which {@code target} can be reached, including
+     * {@code target} itself, computing it on first use.
+     */
+    long[] canReach(int target) {
+        long[] reach = reachCache.get(target);
+        if (reach != null) {
+            return reach;
+        }
+
+        CsrGraph reversed = reverse;
+        if (reversed == null) {
+            reversed = graph.reverse();
+            reverse = reversed;
+        }
+
+        final int n = graph.vertexCount();
+        reach = new long[(n + 63) >>> 6];
+        final int[] queue = new int[n];
+        int tail = 0;
+        queue[tail++] = target;
+        reach[target >>> 6] |= 1L << target;
+        for (int head = 0; head < tail; head++) {
+            int u = queue[head];
+            for (int e = reversed.firstEdge(u); e < reversed.endEdge(u); e++) {
+                int w = reversed.target(e);
+                if ((reach[w >>> 6] & 1L << w) == 0) {
+                    reach[w >>> 6] |= 1L << w;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        long[] previous = reachCache.putIfAbsent(target, reach);
+        return previous != null ? previous : reach;
+    }
+
+    /**
+     * Runs the depth-first search below a fixed prefix: the paths found are those that
+     * start with {@code path[0 .. depth - 1]} and continue from its last vertex. The
+     * prefix must not contain {@code target}, and {@code onPath} must hold exactly the
+     * prefix vertices. Both arrays are used as the search stack and are left in an
+     * unspecified state beyond the prefix itself. Vertices outside {@code reach} are not
+     * entered, and no path is extended beyond {@code maxEdges} edges. If {@code run} is
+     * not {@code null}, the search stops as soon as it reports a stop.
+     *
+     * @return the number of paths passed to the visitor
+     */
+    static long search(CsrGraph graph, int[] path, int depth, long[] onPath, long[] reach, int target, int maxEdges, PathQuery.Run run, Visitor visitor) {
+        final int[] cursor = new int[path.length];
+        final int base = depth - 1;
+        long count = 0;
+
+        cursor[base] = graph.firstEdge(path[base]);
+        while (depth > base) {
+            if (run != null && !run.proceed()) {
+                return count;
+            }
+            int top = depth - 1;
+            int u = path[top];
+            if (cursor[top] == graph.endEdge(u)) {
+                // All out-edges tried: backtrack
+                onPath[u >>> 6] &= ~(1L << u);
+                depth--;
+                continue;
+            }
+
+            int w = graph.target(cursor[top]++);
+            if ((onPath[w >>> 6] & 1L << w) != 0 || (reach[w >>> 6] & 1L << w) == 0) {
+                continue;
+            }
+            if (w == target) {
+                // The target completes a path and is never expanded
+                if (depth > maxEdges) {
+                    continue;
+                }
+                path[depth] = w;
+                count++;
+                if (!visitor.visit(path, depth + 1)) {
+                    return count;
+                }
+                continue;
+            }
+            if (depth >= maxEdges) {
+                // Any path through w would be too long
+                continue;
+            }
+            path[depth] = w;
+            cursor[depth] = graph.firstEdge(w);
+            onPath[w >>> 6] |= 1L << w;
+            depth++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns every simple path from {@code source} to {@code target} in a
+     * {@link CompactPathSet}, which shares common prefixes and stores no boxed values.
+     *
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public CompactPathSet collectPaths(int source, int target) {
+        CompactPathSet.Builder builder = new CompactPathSet.Builder();
+        forEachPath(source, target, builder);
+        return builder.build();
+    }
+
+    /**
+     * Returns every simple path from {@code source} to {@code target} as a list of
+     * vertex lists, like
+     * {@link AllPathsFromSourceToTarget#allPathsFromSourceToTarget}.
+     *
+     * @throws IndexOutOfBoundsException if a vertex is not in the graph
+     */
+    public List<List<Integer>> allPaths(int source, int target) {
+        List<List<Integer>> paths = new ArrayList<>();
+        forEachPath(source, target, (path, length) -> {
+            List<Integer> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(path[i]);
+            }
+            paths.add(list);
+            return true;
+        });
+        return paths;
+    }
+}
@@ -0,0 +1,321 @@
+package com.thealgorithms.audiofilters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * Filters interleaved PCM straight out of NIO buffers, one {@link IIRFilter} per channel.
+ * Samples are decoded from the source buffer, filtered and encoded into the target
+ * buffer one at a time, so no intermediate arrays are created and heap usage does not
+ * depend on the amount of audio. Files are read through {@link FileChannel#map}, sockets
+ * and other streams through a single reusable direct buffer.
+ */
+public class PcmStreamFilter {
+
+    public enum SampleFormat {
+        /** Signed 16-bit integers, full scale {@code [-1, 1)}. */
+        PCM_16(2),
+        /** Signed 32-bit integers, full scale {@code [-1, 1)}. */
+        PCM_32(4),
+        /** IEEE 754 single precision. */
+        FLOAT_32(4),
+        /** IEEE 754 double precision. */
+        FLOAT_64(8);
+
+        private final int bytes;
+
+        SampleFormat(int bytes) {
+            this.bytes = bytes;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    private static final int DEFAULT_CHANNEL_BUFFER = 64 * 1024;
+    // Mapped windows are kept well below the 2 GiB limit of a single mapping
+    private static final long MAP_WINDOW = 1L << 30;
+
+    private static final int WAVE_FORMAT_PCM = 1;
+    private static final int WAVE_FORMAT_IEEE_FLOAT = 3;
+    private static final int WAVE_FORMAT_EXTENSIBLE = 0xFFFE;
+
+    private final SampleFormat format;
+    private final ByteOrder order;
+    private final IIRFilter[] filters;
+    private final int frameSize;
+
+    /**
+     * @param format the encoding of each sample
+     * @param order the byte order of the samples
+     * @param filters one filter per interleaved channel
+     * @throws IllegalArgumentException if no filters are given
+     */
+    public PcmStreamFilter(SampleFormat format, ByteOrder order, IIRFilter... filters) throws IllegalArgumentException {
+        if (filters.length < 1) {
+            throw new IllegalArgumentException("at least one channel filter is required");
+        }
+        this.format = Objects.requireNonNull(format, "format");
+        this.order = Objects.requireNonNull(order, "order");
+        this.filters = filters.clone();
+        this.frameSize = format.bytes * filters.length;
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Filters as many whole frames as are remaining in {@code src} and fit into
+     * {@code dst}, advancing both positions. Samples are read and written in this
+     * stage's byte order through duplicates of the buffers, so the order set on the
+     * buffers themselves is never touched.
+     *
+     * @param src the encoded input samples
+     * @param dst the buffer receiving the encoded filtered samples; may be a different
+     * view of the same memory as {@code src} only if both start at the same address
+     * @return the number of frames filtered
+     */
+    public int process(ByteBuffer src, ByteBuffer dst) {
+        int frames = Math.min(src.remaining(), dst.remaining()) / frameSize;
+        // Duplicates share the memory but not the byte order, which stays the caller's
+        ByteBuffer input = src.duplicate().order(order);
+        ByteBuffer output = dst.duplicate().order(order);
+        int in = src.position();
+        int out = dst.position();
+        for (int f = 0; f < frames; f++) {
+            for (IIRFilter filter : filters) {
+                write(output, out, filter.process(read(input, in)));
+                in += format.bytes;
+                out += format.bytes;
+            }
+        }
+        src.position(in);
+        dst.position(out);
+        return frames;
+    }
+
+    /**
+     * Filters as many whole frames of float samples as are remaining in {@code src} and
+     * fit into {@code dst}, advancing both positions. This works on any float view,
+     * including {@link ByteBuffer#asFloatBuffer()} views of mapped files, and ignores the
+     * sample format of this stage.
+     *
+     * @param src the input samples
+     * @param dst the buffer receiving the filtered samples
+     * @return the number of frames filtered
+     */
+    public int process(FloatBuffer src, FloatBuffer dst) {
+        int frames = Math.min(src.remaining(), dst.remaining()) / filters.length;
+        int in = src.position();
+        int out = dst.position();
+        for (int f = 0; f < frames; f++) {
+            for (IIRFilter filter : filters) {
+                dst.put(out++, (float) filter.process(src.get(in++)));
+            }
+        }
+        src.position(in);
+        dst.position(out);
+        return frames;
+    }
+
+    /**
+     * Filters everything readable from {@code in} and writes it to {@code out}, using a
+     * single direct buffer of 64 KiB. A trailing partial frame is left unfiltered and
+     * dropped.
+     *
+     * @return the number of frames filtered
+     * @throws IOException if reading or writing fails
+     */
+    public long process(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        return process(in, out, DEFAULT_CHANNEL_BUFFER);
+    }
+
+    /**
+     * Filters everything readable from {@code in} and writes it to {@code out}, using a
+     * single direct buffer of {@code bufferSize} bytes that is filtered in place. A
+     * trailing partial frame is left unfiltered and dropped.
+     *
+     * @return the number of frames filtered
+     * @throws IllegalArgumentException if {@code bufferSize} is smaller than a frame
+     * @throws IOException if reading or writing fails
+     */
+    public long process(ReadableByteChannel in, WritableByteChannel out, int bufferSize) throws IOException {
+        if (bufferSize < frameSize) {
+            throw new IllegalArgumentException("bufferSize must be at least one frame (" + frameSize + " bytes), got " + bufferSize);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize - bufferSize % frameSize);
+        long total = 0;
+        while (in.read(buffer) >= 0) {
+            total += drain(buffer, out);
+        }
+        total += drain(buffer, out);
+        return total;
+    }
+
+    /**
+     * Filters the whole frames in {@code buffer} in place, writes them out and keeps any
+     * partial frame for the next read.
+     */
+    private int drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        int limit = buffer.limit();
+        int whole = buffer.remaining() - buffer.remaining() % frameSize;
+        buffer.limit(buffer.position() + whole);
+
+        ByteBuffer view = buffer.duplicate();
+        int frames = process(buffer, view);
+        view.flip();
+        while (view.hasRemaining()) {
+            out.write(view);
+        }
+
+        buffer.limit(limit);
+        buffer.compact();
+        return frames;
+    }
+
+    /**
+     * Filters the audio of a RIFF/WAVE file into a new file, mapping both into memory in
+     * windows of at most 1 GiB. Every byte outside the {@code data} chunk is copied
+     * unchanged. 16 and 32-bit integer PCM and 32 and 64-bit float data are supported,
+     * including the extensible format header.
+     *
+     * @param source the WAVE file to read
+     * @param target the file to write; created or replaced
+     * @param filterForChannel creates the filter for the given channel index
+     * @return the number of frames filtered
+     * @throws IllegalArgumentException if the file is not a supported WAVE file
+     * @throws IOException if reading or writing fails
+     */
+    public static long filterWav(Path source, Path target, IntFunction<IIRFilter> filterForChannel) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            ByteBuffer header = in.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, MAP_WINDOW)).order(ByteOrder.LITTLE_ENDIAN);
+            if (size < 12 || header.getInt(0) != 0x46464952 || header.getInt(8) != 0x45564157) {
+                throw new IllegalArgumentException(source + " is not a RIFF/WAVE file");
+            }
+
+            SampleFormat format = null;
+            int channels = 0;
+            long dataStart = -1;
+            long dataSize = 0;
+            long pos = 12;
+            while (pos + 8 <= header.limit() && dataStart < 0) {
+                int id = header.getInt((int) pos);
+                long length = Integer.toUnsignedLong(header.getInt((int) pos + 4));
+                if (id == 0x20746d66) {
+                    // "fmt "
+                    if (length < 16 || pos + 8 + Math.min(length, 26) > header.limit()) {
+                        throw new IllegalArgumentException(source + " has a truncated fmt chunk of " + length + " bytes");
+                    }
+                    int tag = Short.toUnsignedInt(header.getShort((int) pos + 8));
+                    channels = Short.toUnsignedInt(header.getShort((int) pos + 10));
+                    int bits = Short.toUnsignedInt(header.getShort((int) pos + 22));
+                    if (tag == WAVE_FORMAT_EXTENSIBLE && length >= 26) {
+                        // The sub-format GUID starts with the actual format tag
+                        tag = Short.toUnsignedInt(header.getShort((int) pos + 32));
+                    }
+                    format = waveFormat(tag, bits);
+                } else if (id == 0x61746164) {
+                    // "data"
+                    dataStart = pos + 8;
+                    dataSize = Math.min(length, size - dataStart);
+                }
+                // Chunks are padded to an even length
+                pos += 8 + length + (length & 1);
+            }
+            if (format == null || channels < 1 || dataStart < 0) {
+                throw new IllegalArgumentException(source + " has no supported fmt and data chunks");
+            }
+
+            IIRFilter[] filters = new IIRFilter[channels];
+            for (int c = 0; c < channels; c++) {
+                filters[c] = filterForChannel.apply(c);
+            }
+            PcmStreamFilter stage = new PcmStreamFilter(format, ByteOrder.LITTLE_ENDIAN, filters);
+
+            copy(in, out, 0, dataStart);
+            long window = MAP_WINDOW - MAP_WINDOW % stage.frameSize;
+            long frames = 0;
+            long dataEnd = dataStart + dataSize - dataSize % stage.frameSize;
+            for (long start = dataStart; start < dataEnd; start += window) {
+                long length = Math.min(window, dataEnd - start);
+                MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, start, length);
+                MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, start, length);
+                frames += stage.process(src, dst);
+            }
+            copy(in, out, dataEnd, size - dataEnd);
+            return frames;
+        }
+    }
+
+    private static SampleFormat waveFormat(int tag, int bits) {
+        if (tag == WAVE_FORMAT_PCM && bits == 16) {
+            return SampleFormat.PCM_16;
+        }
+        if (tag == WAVE_FORMAT_PCM && bits == 32) {
+            return SampleFormat.PCM_32;
+        }
+        if (tag == WAVE_FORMAT_IEEE_FLOAT && bits == 32) {
+            return SampleFormat.FLOAT_32;
+        }
+        if (tag == WAVE_FORMAT_IEEE_FLOAT && bits == 64) {
+            return SampleFormat.FLOAT_64;
+        }
+        throw new IllegalArgumentException("unsupported WAVE format " + tag + " with " + bits + " bits per sample");
+    }
+
+    /**
+     * Copies {@code length} bytes at {@code position} unchanged, through the kernel.
+     */
+    private static void copy(FileChannel in, FileChannel out, long position, long length) throws IOException {
+        long done = 0;
+        while (done < length) {
+            done += in.transferTo(position + done, length - done, out.position(position + done));
+        }
+    }
+
+    private double read(ByteBuffer src, int index) {
+        switch (format) {
+            case PCM_16:
+                return src.getShort(index) / 32768.0;
+            case PCM_32:
+                return src.getInt(index) / 2147483648.0;
+            case FLOAT_32:
+                return src.getFloat(index);
+            default:
+                return src.getDouble(index);
+        }
+    }
+
+    private void write(ByteBuffer dst, int index, double sample) {
+        switch (format) {
+            case PCM_16:
+                dst.putShort(index, (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(sample * 32768.0))));
+                break;
+            case PCM_32:
+                dst.putInt(index, (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.round(sample * 2147483648.0))));
+                break;
+            case FLOAT_32:
+                dst.putFloat(index, (float) sample);
+                break;
+            default:
+                dst.putDouble(index, sample);
+                break;
+        }
+    }
+}
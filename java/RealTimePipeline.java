@@ -0,0 +1,288 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A live filter chain that moves samples from a capture thread through one thread per
+ * {@link IIRFilter} stage to an output thread. Stages are linked by
+ * {@link DoubleRingBuffer}s, so the hand-off between threads takes no locks and, once
+ * started, nothing is allocated or boxed.
+ *
+ * <p>The capture thread calls {@link #write(double[], int, int)} and the output thread
+ * calls {@link #read(double[], int, int)}. Each stage thread takes one block of
+ * {@code blockSize} samples at a time from its input ring, filters it in place and
+ * passes it on, waiting for room if the next ring is full. The real-time edges never
+ * wait instead:
+ * <ul>
+ * <li>an <em>overrun</em> is a sample the capture thread offered while the input ring was
+ * full, which is dropped;</li>
+ * <li>an <em>underrun</em> is a sample the output thread asked for while no filtered
+ * sample was ready, which is returned as silence.</li>
+ * </ul>
+ *
+ * <p>End-to-end latency is the time from a block's first sample being written to it
+ * being read, measured once per block. Counters and latency figures may be read from any
+ * thread.
+ */
+public class RealTimePipeline implements AutoCloseable {
+
+    // Busy-wait this many times before parking a waiting stage thread
+    private static final int SPINS = 100;
+    private static final long PARK_NANOS = 20_000;
+
+    private final int blockSize;
+    private final IIRFilter[] stages;
+    // rings[i] feeds stage i; the last ring feeds the output thread
+    private final DoubleRingBuffer[] rings;
+    private final Thread[] threads;
+    private volatile boolean running;
+
+    // Write time of every block start still in flight, by block index
+    private final long[] stamps;
+    private final int stampMask;
+    // Owned by the capture thread
+    private long written;
+    // Owned by the output thread
+    private long read;
+
+    // Each counter has a single writer, so plain volatile updates are safe
+    private volatile long overruns;
+    private volatile long underruns;
+    private volatile long lastLatency;
+    private volatile long maxLatency;
+    private volatile long totalLatency;
+    private volatile long latencyCount;
+
+    /**
+     * @param blockSize the number of samples each stage filters at a time
+     * @param ringCapacity the capacity of each ring, at least {@code blockSize}; rounded up
+     * to a power of two
+     * @param stages the filters, applied in order, one thread each
+     * @throws IllegalArgumentException if there are no stages, {@code blockSize} is less
+     * than one or {@code ringCapacity} is less than {@code blockSize}
+     */
+    public RealTimePipeline(int blockSize, int ringCapacity, IIRFilter... stages) throws IllegalArgumentException {
+        if (stages.length < 1) {
+            throw new IllegalArgumentException("at least one stage is required");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be greater than zero");
+        }
+        if (ringCapacity < blockSize) {
+            throw new IllegalArgumentException("ringCapacity must be at least blockSize (" + blockSize + "), got " + ringCapacity);
+        }
+
+        this.blockSize = blockSize;
+        this.stages = stages.clone();
+        this.rings = new DoubleRingBuffer[stages.length + 1];
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new DoubleRingBuffer(ringCapacity);
+        }
+        this.threads = new Thread[stages.length];
+        for (int i = 0; i < stages.length; i++) {
+            Objects.requireNonNull(stages[i], "stage");
+            final int stage = i;
+            threads[i] = new Thread(() -> runStage(stage), "iir-pipeline-stage-" + i);
+            threads[i].setDaemon(true);
+        }
+
+        // Every ring may be full and every stage may hold one block
+        long inFlight = (long) rings.length * rings[0].capacity() + (long) stages.length * blockSize;
+        int blocks = (int) Math.min(1 << 30, inFlight / blockSize + 2);
+        int size = Integer.highestOneBit(blocks);
+        if (size < blocks) {
+            size <<= 1;
+        }
+        this.stamps = new long[size];
+        this.stampMask = size - 1;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    /**
+     * Starts the stage threads. A pipeline can be started only once.
+     *
+     * @throws IllegalStateException if the pipeline was already started
+     */
+    public synchronized void start() throws IllegalStateException {
+        if (running || threads[0].getState() != Thread.State.NEW) {
+            throw new IllegalStateException("pipeline already started");
+        }
+        running = true;
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the stage threads and waits for them to finish. Samples still in the rings
+     * are discarded. If the calling thread is interrupted while waiting, it stops waiting
+     * and keeps its interrupt status set.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        for (Thread thread : threads) {
+            LockSupport.unpark(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                if (thread.getState() != Thread.State.NEW) {
+                    thread.join();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Offers {@code len} captured samples to the pipeline. Samples that do not fit are
+     * dropped and counted as overruns. Must only be called by the capture thread.
+     *
+     * @return the number of samples accepted
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public int write(double[] in, int off, int len) {
+        Objects.checkFromIndexSize(off, len, in.length);
+        // Stamp the blocks before the ring write publishes their samples, so the output
+        // thread sees the stamps. The free space is exact here and can only grow.
+        int accepted = Math.min(len, rings[0].remainingCapacity());
+        if (accepted > 0) {
+            long now = System.nanoTime();
+            long end = written + accepted;
+            for (long block = (written + blockSize - 1) / blockSize; block * blockSize < end; block++) {
+                stamps[(int) block & stampMask] = now;
+            }
+        }
+        int n = rings[0].write(in, off, accepted);
+        if (n < len) {
+            overruns += len - n;
+        }
+        written += n;
+        return n;
+    }
+
+    /**
+     * Fills {@code len} samples of {@code out} with filtered samples. Missing samples are
+     * filled with silence and counted as underruns. Must only be called by the output
+     * thread.
+     *
+     * @return the number of filtered samples read; the rest of the range is zero
+     * @throws IndexOutOfBoundsException if the range lies outside the array
+     */
+    public int read(double[] out, int off, int len) {
+        int n = rings[rings.length - 1].read(out, off, len);
+        if (n < len) {
+            underruns += len - n;
+            for (int i = off + n; i < off + len; i++) {
+                out[i] = 0.0;
+            }
+        }
+        if (n > 0) {
+            long now = System.nanoTime();
+            long end = read + n;
+            for (long block = (read + blockSize - 1) / blockSize; block * blockSize < end; block++) {
+                record(now - stamps[(int) block & stampMask]);
+            }
+            read = end;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the number of captured samples dropped because the pipeline was full.
+     */
+    public long overruns() {
+        return overruns;
+    }
+
+    /**
+     * Returns the number of output samples replaced by silence because no filtered
+     * sample was ready.
+     */
+    public long underruns() {
+        return underruns;
+    }
+
+    /**
+     * Returns the end-to-end latency of the most recently read block, in nanoseconds.
+     */
+    public long lastLatencyNanos() {
+        return lastLatency;
+    }
+
+    /**
+     * Returns the highest end-to-end block latency seen, in nanoseconds.
+     */
+    public long maxLatencyNanos() {
+        return maxLatency;
+    }
+
+    /**
+     * Returns the mean end-to-end block latency, in nanoseconds, or zero before the first
+     * block was read.
+     */
+    public double meanLatencyNanos() {
+        long count = latencyCount;
+        return count == 0 ? 0.0 : (double) totalLatency / count;
+    }
+
+    private void record(long latency) {
+        lastLatency = latency;
+        if (latency > maxLatency) {
+            maxLatency = latency;
+        }
+        totalLatency += latency;
+        latencyCount++;
+    }
+
+    private void runStage(int stage) {
+        final IIRFilter filter = stages[stage];
+        final DoubleRingBuffer in = rings[stage];
+        final DoubleRingBuffer out = rings[stage + 1];
+        final double[] block = new double[blockSize];
+
+        int idle = 0;
+        while (running) {
+            if (in.available() < blockSize) {
+                idle = pause(idle);
+                continue;
+            }
+            idle = 0;
+            in.read(block, 0, blockSize);
+            filter.process(block, 0, blockSize);
+
+            int done = 0;
+            while (done < blockSize) {
+                done += out.write(block, done, blockSize - done);
+                if (done < blockSize) {
+                    if (!running) {
+                        return;
+                    }
+                    idle = pause(idle);
+                }
+            }
+            idle = 0;
+        }
+    }
+
+    /**
+     * Waits a little without holding a lock: spins first, then parks.
+     */
+    private static int pause(int idle) {
+        if (idle < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idle + 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.thealgorithms.audiofilters;
+
+/**
+ * A reusable block of primitive samples owned by a {@link SampleBlockPool}. A block is
+ * taken from the pool by the source, filled, passed along a chain of
+ * {@link IIRFilterProcessor}s, which filter it in place, and handed back with
+ * {@link #release()} by whoever consumes it last.
+ */
+public final class SampleBlock {
+
+    private final SampleBlockPool pool;
+    private final double[] data;
+    private int length;
+
+    SampleBlock(SampleBlockPool pool, int capacity) {
+        this.pool = pool;
+        this.data = new double[capacity];
+    }
+
+    /**
+     * Returns the backing array. Only the first {@link #length()} samples are valid.
+     */
+    public double[] data() {
+        return data;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Sets the number of valid samples at the start of {@link #data()}.
+     *
+     * @throws IllegalArgumentException if {@code length} is negative or exceeds the
+     * capacity
+     */
+    public void setLength(int length) throws IllegalArgumentException {
+        if (length < 0 || length > data.length) {
+            throw new IllegalArgumentException("length must be between 0 and " + data.length + ", got " + length);
+        }
+        this.length = length;
+    }
+
+    /**
+     * Returns this block to its pool. Must be called exactly once per acquisition, after
+     * which the block must no longer be used.
+     */
+    public void release() {
+        pool.release(this);
+    }
+}
@@ -0,0 +1,97 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed set of preallocated {@link SampleBlock}s. The pool never creates blocks after
+ * construction, so the samples in flight through a chain of {@link IIRFilterProcessor}s
+ * are bounded by {@code blocks * capacity}. A source that takes blocks with
+ * {@link #acquire()} is held back once all blocks are in use, and released again as a
+ * slow consumer hands blocks back.
+ */
+public class SampleBlockPool {
+
+    private final int blockCapacity;
+    private final int size;
+    private final ArrayBlockingQueue<SampleBlock> free;
+
+    /**
+     * @param blocks the number of blocks
+     * @param blockCapacity the number of samples each block holds
+     * @throws IllegalArgumentException if {@code blocks} or {@code blockCapacity} is less
+     * than one
+     */
+    public SampleBlockPool(int blocks, int blockCapacity) throws IllegalArgumentException {
+        if (blocks < 1) {
+            throw new IllegalArgumentException("blocks must be greater than zero");
+        }
+        if (blockCapacity < 1) {
+            throw new IllegalArgumentException("blockCapacity must be greater than zero");
+        }
+
+        this.blockCapacity = blockCapacity;
+        this.size = blocks;
+        this.free = new ArrayBlockingQueue<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            free.offer(new SampleBlock(this, blockCapacity));
+        }
+    }
+
+    public int getBlockCapacity() {
+        return blockCapacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of blocks currently free.
+     */
+    public int available() {
+        return free.size();
+    }
+
+    /**
+     * Takes a free block, waiting until one is released if all are in use. The block's
+     * length is reset to zero.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public SampleBlock acquire() throws InterruptedException {
+        return prepare(free.take());
+    }
+
+    /**
+     * Takes a free block, waiting at most the given time.
+     *
+     * @return the block, or {@code null} if none became free in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public SampleBlock acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return prepare(free.poll(timeout, unit));
+    }
+
+    /**
+     * Takes a free block without waiting.
+     *
+     * @return the block, or {@code null} if all are in use
+     */
+    public SampleBlock tryAcquire() {
+        return prepare(free.poll());
+    }
+
+    void release(SampleBlock block) {
+        if (!free.offer(block)) {
+            throw new IllegalStateException("block released more often than acquired");
+        }
+    }
+
+    private static SampleBlock prepare(SampleBlock block) {
+        if (block != null) {
+            block.setLength(0);
+        }
+        return block;
+    }
+}
@@ -0,0 +1,213 @@
+package com.thealgorithms.audiofilters;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmarks for the filter hot loops. They live in their own source set, apart from
+ * the library, and compile against it with the JMH annotation processor and runtime on the
+ * class path. Run them either through {@link #main(String[])}, which adds the GC
+ * profiler so allocation rates are reported alongside throughput, or with the usual JMH
+ * command line, for example {@code -prof gc IIRFilterBenchmark.block}.
+ *
+ * <p>Throughput benchmarks report operations per microsecond. One operation is one
+ * sample for the single-filter benchmarks, so scalar and block results compare directly,
+ * and one frame of all channels for the multichannel ones. The inputs are:
+ * <ul>
+ * <li>{@code SILENCE}: all zeros;</li>
+ * <li>{@code NOISE}: uniform noise at full scale;</li>
+ * <li>{@code DECAY}: noise fading from {@code 1e-290} into the subnormal range, which
+ * keeps the history where unprotected arithmetic is slowest.</li>
+ * </ul>
+ */
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IIRFilterBenchmark {
+
+    // Frames per invocation of the multichannel benchmarks
+    static final int FRAMES = 512;
+
+    public enum Input { SILENCE, NOISE, DECAY }
+
+    static double[] input(Input input, int length, long seed) {
+        double[] samples = new double[length];
+        Random random = new Random(seed);
+        for (int i = 0; i < length; i++) {
+            switch (input) {
+                case NOISE:
+                    samples[i] = 2.0 * random.nextDouble() - 1.0;
+                    break;
+                case DECAY:
+                    samples[i] = (2.0 * random.nextDouble() - 1.0) * 1e-290 * Math.pow(1e-30, (double) i / length);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * One lowpass filter and one block of input.
+     */
+    @State(Scope.Thread)
+    public static class FilterState {
+
+        @Param({"2", "4", "8"})
+        public int order;
+
+        @Param({"64", "512", "4096"})
+        public int blockSize;
+
+        @Param({"SILENCE", "NOISE", "DECAY"})
+        public Input input;
+
+        @Param({"NONE", "FLUSH_TO_ZERO"})
+        public IIRFilter.DenormalProtection protection;
+
+        IIRFilter filter;
+        double[] in;
+        double[] out;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            filter = new FilterDesigner(1).lowpass(order, 48000, 1000).newFilter();
+            filter.setDenormalProtection(protection);
+            in = input(input, blockSize, 42);
+            out = new double[blockSize];
+        }
+    }
+
+    /**
+     * Per-channel filters and an equivalent bank over interleaved input.
+     */
+    @State(Scope.Thread)
+    public static class ChannelState {
+
+        @Param({"1", "2", "8", "32"})
+        public int channels;
+
+        @Param({"4"})
+        public int order;
+
+        IIRFilter[] filters;
+        IIRFilterBank bank;
+        double[] in;
+        double[] out;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            FilterDesign design = new FilterDesigner(1).lowpass(order, 48000, 1000);
+            filters = new IIRFilter[channels];
+            for (int c = 0; c < channels; c++) {
+                filters[c] = design.newFilter();
+            }
+            bank = new IIRFilterBank(design.getCoefficients(), channels);
+            in = input(Input.NOISE, channels * FRAMES, 42);
+            out = new double[channels * FRAMES];
+        }
+    }
+
+    /**
+     * A single filter, for the latency of one sample.
+     */
+    @State(Scope.Thread)
+    public static class SampleState {
+
+        @Param({"2", "8"})
+        public int order;
+
+        IIRFilter filter;
+        double sample;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            filter = new FilterDesigner(1).lowpass(order, 48000, 1000).newFilter();
+            sample = 0.5;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(4096)
+    public void scalar(FilterState state, Blackhole blackhole) {
+        // Keep the operation count fixed whatever the block size
+        for (int done = 0; done < 4096; done += state.blockSize) {
+            for (int k = 0; k < state.blockSize; k++) {
+                state.out[k] = state.filter.process(state.in[k]);
+            }
+        }
+        blackhole.consume(state.out);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(4096)
+    public void block(FilterState state, Blackhole blackhole) {
+        for (int done = 0; done < 4096; done += state.blockSize) {
+            state.filter.process(state.in, 0, state.out, 0, state.blockSize);
+        }
+        blackhole.consume(state.out);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double sampleLatency(SampleState state) {
+        return state.filter.process(state.sample);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(FRAMES)
+    public void channelsSeparate(ChannelState state, Blackhole blackhole) {
+        final int channels = state.channels;
+        for (int f = 0; f < FRAMES; f++) {
+            for (int c = 0; c < channels; c++) {
+                int i = f * channels + c;
+                state.out[i] = state.filters[c].process(state.in[i]);
+            }
+        }
+        blackhole.consume(state.out);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(FRAMES)
+    public void channelsBank(ChannelState state, Blackhole blackhole) {
+        state.bank.process(state.in, 0, state.out, 0, FRAMES);
+        blackhole.consume(state.out);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(IIRFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}